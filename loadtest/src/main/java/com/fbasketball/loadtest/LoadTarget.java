@@ -0,0 +1,174 @@
+package com.fbasketball.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Data the scenarios draw from, sampled once from the running instance
+ * (player ids, team abbreviations, search terms and PUT bodies), plus the
+ * synthetic players created by the CREATE scenario for DELETE to remove
+ */
+public class LoadTarget {
+
+    private static final Pattern PLAYER_ID = Pattern.compile("\"playerId\"\\s*:\\s*(\\d+)");
+    private static final Pattern TEAM = Pattern.compile("\"teamAbbreviation\"\\s*:\\s*\"([A-Za-z]+)\"");
+    private static final Pattern NAME = Pattern.compile("\"playerName\"\\s*:\\s*\"([^\"]+)\"");
+
+    // Number of players whose JSON is fetched up front to replay as PUT bodies
+    private static final int WRITE_SAMPLE = 50;
+
+    // Synthetic players get ids far above real NBA ids, unique per run
+    private static final AtomicLong SYNTHETIC_IDS = new AtomicLong(9_000_000_000_000L + System.currentTimeMillis() * 1_000);
+
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final List<Long> playerIds;
+    private final List<String> teams;
+    private final List<String> searchTerms;
+    private final List<WriteBody> writeBodies;
+    // Synthetic players by their pending POST, and those the server confirmed
+    private final Map<HttpRequest, Long> creating = new ConcurrentHashMap<>();
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    record WriteBody(long playerId, String json) {}
+
+    private LoadTarget(String baseUrl, Duration requestTimeout, List<Long> playerIds, List<String> teams,
+                       List<String> searchTerms, List<WriteBody> writeBodies) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.playerIds = playerIds;
+        this.teams = teams;
+        this.searchTerms = searchTerms;
+        this.writeBodies = writeBodies;
+    }
+
+    /**
+     * Sample ids, teams and names from GET /api/players.
+     * Every request, here and in the scenarios, gives up after requestTimeout.
+     */
+    public static LoadTarget discover(HttpClient client, String baseUrl, Duration requestTimeout)
+            throws IOException, InterruptedException {
+        String all = get(client, baseUrl + "/api/players", requestTimeout);
+
+        List<Long> ids = new ArrayList<>();
+        Matcher m = PLAYER_ID.matcher(all);
+        while (m.find()) {
+            ids.add(Long.parseLong(m.group(1)));
+        }
+
+        Set<String> teams = new LinkedHashSet<>();
+        m = TEAM.matcher(all);
+        while (m.find()) {
+            teams.add(m.group(1));
+        }
+
+        // Last name prefixes, e.g. "LeBron James" -> "jame"
+        Set<String> terms = new LinkedHashSet<>();
+        m = NAME.matcher(all);
+        while (m.find()) {
+            String[] parts = m.group(1).split(" ");
+            String last = parts[parts.length - 1].toLowerCase(Locale.ROOT);
+            terms.add(last.length() > 4 ? last.substring(0, 4) : last);
+        }
+
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No players returned by " + baseUrl + "/api/players");
+        }
+
+        List<WriteBody> bodies = new ArrayList<>();
+        for (Long id : ids.subList(0, Math.min(WRITE_SAMPLE, ids.size()))) {
+            bodies.add(new WriteBody(id, get(client, baseUrl + "/api/players/" + id, requestTimeout)));
+        }
+
+        return new LoadTarget(baseUrl, requestTimeout, List.copyOf(ids), List.copyOf(teams),
+                List.copyOf(terms), List.copyOf(bodies));
+    }
+
+    private static String get(HttpClient client, String url, Duration requestTimeout)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(url)).timeout(requestTimeout).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Builder for a request to path on the target, with the request timeout set
+     */
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout);
+    }
+
+    public List<Long> playerIds() {
+        return playerIds;
+    }
+
+    public List<String> teams() {
+        return teams;
+    }
+
+    public List<String> searchTerms() {
+        return searchTerms;
+    }
+
+    public List<WriteBody> writeBodies() {
+        return writeBodies;
+    }
+
+    /**
+     * A sampled player's JSON under a new synthetic id
+     */
+    public WriteBody newSyntheticPlayer(WriteBody template) {
+        long id = SYNTHETIC_IDS.incrementAndGet();
+        return new WriteBody(id, PLAYER_ID.matcher(template.json()).replaceFirst("\"playerId\":" + id));
+    }
+
+    /**
+     * Remember that request creates synthetic player id
+     */
+    public void creating(HttpRequest request, long id) {
+        creating.put(request, id);
+    }
+
+    /**
+     * Called when a creating() request completes; the player becomes a delete
+     * candidate only once the server has confirmed it
+     */
+    public void createCompleted(HttpRequest request, boolean succeeded) {
+        Long id = creating.remove(request);
+        if (id != null && succeeded) {
+            created.add(id);
+        }
+    }
+
+    /**
+     * A synthetic player created earlier in this run, or null if there is none left.
+     * Only these are ever deleted, never the sampled (real) players.
+     */
+    public Long deleteCandidate() {
+        return created.poll();
+    }
+}
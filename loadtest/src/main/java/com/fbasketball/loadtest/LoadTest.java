@@ -0,0 +1,258 @@
+package com.fbasketball.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fixed arrival rate load test against a running instance
+ *
+ * Requests are scheduled at a constant rate regardless of how fast the server
+ * answers (open model), each on its own virtual thread. Latency is measured
+ * from the scheduled start, so a stalled server shows up in the percentiles
+ * instead of silently lowering the request rate.
+ *
+ * Usage:
+ *   mvn -f loadtest/pom.xml compile exec:java -Dexec.args="--url http://localhost:8080 --rps 200 --duration 60"
+ *
+ * Options:
+ *   --url       base URL of the API (default http://localhost:8080)
+ *   --rps       target arrivals per second (default 100)
+ *   --duration  measured seconds (default 60)
+ *   --warmup    unmeasured seconds before that (default 10)
+ *   --mix       weight overrides, e.g. GET_BY_ID=30,WRITE_BURST=0 or CREATE=1,DELETE=1 (off by default)
+ *   --label     name of this run, e.g. a commit sha (default "run")
+ *   --out       results directory (default target/loadtest)
+ *   --seed      random seed for the request mix (default 42)
+ *   --timeout   seconds before a request is abandoned and counted as an error (default 10)
+ *
+ * Writes a percentile table to stdout, plus summary.csv and one .hgrm per
+ * scenario under out/label for comparing builds.
+ */
+public class LoadTest {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        double rps = Double.parseDouble(options.getOrDefault("rps", "100"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "10"));
+        String label = options.getOrDefault("label", "run");
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest")).resolve(label);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "10")));
+        Map<Scenario, Integer> weights = parseMix(options.get("mix"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("Discovering players at %s ...%n", baseUrl);
+        LoadTarget target = LoadTarget.discover(client, baseUrl, timeout);
+        System.out.printf("%d players, %d teams. Running %.0f rps for %ds (+%ds warmup)%n",
+                target.playerIds().size(), target.teams().size(), rps, durationSeconds, warmupSeconds);
+
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new ScenarioStats(scenario));
+        }
+
+        long elapsedNanos = run(client, target, weights, stats, rps,
+                TimeUnit.SECONDS.toNanos(warmupSeconds), TimeUnit.SECONDS.toNanos(durationSeconds),
+                new SplittableRandom(seed));
+
+        printReport(stats, elapsedNanos);
+        writeResults(out, label, rps, stats, elapsedNanos);
+        System.out.printf("Results written to %s%n", out.toAbsolutePath());
+    }
+
+    // ========================================================================
+    // ARRIVAL LOOP
+    // ========================================================================
+
+    /**
+     * Issue arrivals at a fixed rate until warmup + duration has elapsed.
+     * Returns the measured wall time (from end of warmup to last completion).
+     */
+    static long run(HttpClient client, LoadTarget target, Map<Scenario, Integer> weights,
+                    Map<Scenario, ScenarioStats> stats, double rps,
+                    long warmupNanos, long durationNanos, RandomGenerator random) {
+        Scenario[] scenarios = Scenario.values();
+        int[] cumulative = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += weights.get(scenarios[i]);
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Scenario weights must not all be zero");
+        }
+
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * periodNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                // If we fall behind we fire immediately; the intended start is kept,
+                // so the lag is still charged to the request
+                long now;
+                while ((now = System.nanoTime()) < intendedStart) {
+                    LockSupport.parkNanos(intendedStart - now);
+                }
+
+                int roll = random.nextInt(total);
+                int index = 0;
+                while (cumulative[index] <= roll) {
+                    index++;
+                }
+                Scenario scenario = scenarios[index];
+                ScenarioStats scenarioStats = intendedStart >= measureFrom ? stats.get(scenario) : null;
+
+                for (HttpRequest request : scenario.requests(target, random)) {
+                    executor.execute(() -> send(client, target, scenario, request, intendedStart, scenarioStats));
+                }
+            }
+        }
+        return System.nanoTime() - measureFrom;
+    }
+
+    private static void send(HttpClient client, LoadTarget target, Scenario scenario, HttpRequest request,
+                             long intendedStart, ScenarioStats stats) {
+        long sent = System.nanoTime();
+        int status = -1;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long completed = System.nanoTime();
+            status = response.statusCode();
+            if (stats == null) {
+                return;
+            }
+            if (response.statusCode() >= 400) {
+                stats.recordError(intendedStart, completed);
+            } else {
+                stats.record(intendedStart, sent, completed);
+            }
+        } catch (HttpTimeoutException e) {
+            if (stats != null) {
+                stats.recordTimeout(intendedStart, System.nanoTime());
+            }
+        } catch (IOException e) {
+            if (stats != null) {
+                stats.recordError(intendedStart, System.nanoTime());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            scenario.completed(target, request, status);
+        }
+    }
+
+    // ========================================================================
+    // REPORTING
+    // ========================================================================
+
+    private static void printReport(Map<Scenario, ScenarioStats> stats, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println();
+        System.out.printf("%-38s %8s %7s %8s %8s %8s %8s %8s %8s %8s %10s %10s%n",
+                "endpoint", "count", "errors", "timeouts", "rps", "p50", "p90", "p99", "p99.9", "max", "svc p99", "err p99");
+
+        long totalCount = 0;
+        long totalErrors = 0;
+        long totalTimeouts = 0;
+        for (ScenarioStats s : stats.values()) {
+            totalCount += s.count();
+            totalErrors += s.errors();
+            totalTimeouts += s.timeouts();
+            if (s.count() == 0 && s.errors() == 0) {
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "%-38s %8d %7d %8d %8.1f %8.2f %8.2f %8.2f %8.2f %8.2f %10.2f %10.2f%n",
+                    s.scenario().endpoint(), s.count(), s.errors(), s.timeouts(), s.count() / seconds,
+                    s.percentileMillis(PERCENTILES[0]), s.percentileMillis(PERCENTILES[1]),
+                    s.percentileMillis(PERCENTILES[2]), s.percentileMillis(PERCENTILES[3]),
+                    s.maxMillis(), s.serviceP99Millis(), s.errorP99Millis());
+        }
+        System.out.printf(Locale.ROOT, "%nTotal: %d requests, %d errors (%d timeouts), %.1f req/s over %.1fs (latencies in ms)%n",
+                totalCount, totalErrors, totalTimeouts, totalCount / seconds, seconds);
+    }
+
+    private static void writeResults(Path out, String label, double rps,
+                                     Map<Scenario, ScenarioStats> stats, long elapsedNanos) throws IOException {
+        Files.createDirectories(out);
+        double seconds = elapsedNanos / 1e9;
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(out.resolve("summary.csv")))) {
+            csv.println("label,target_rps,scenario,count,errors,timeouts,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,error_p99_ms");
+            for (ScenarioStats s : stats.values()) {
+                csv.printf(Locale.ROOT, "%s,%.1f,%s,%d,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        label, rps, s.scenario().name(), s.count(), s.errors(), s.timeouts(), s.count() / seconds,
+                        s.percentileMillis(PERCENTILES[0]), s.percentileMillis(PERCENTILES[1]),
+                        s.percentileMillis(PERCENTILES[2]), s.percentileMillis(PERCENTILES[3]),
+                        s.maxMillis(), s.errorP99Millis());
+                if (s.count() > 0) {
+                    s.writeDistribution(out.resolve(s.scenario().name().toLowerCase(Locale.ROOT) + ".hgrm"));
+                }
+                if (s.errors() > 0) {
+                    s.writeErrorDistribution(out.resolve(s.scenario().name().toLowerCase(Locale.ROOT) + "-errors.hgrm"));
+                }
+            }
+        }
+    }
+
+    // ========================================================================
+    // ARGUMENTS
+    // ========================================================================
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            weights.put(scenario, scenario.defaultWeight());
+        }
+        if (mix != null && !mix.isBlank()) {
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.split("=");
+                weights.put(Scenario.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                        Integer.parseInt(parts[1].trim()));
+            }
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,229 @@
+package com.fbasketball.loadtest;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted request mix, one entry per PlayerController endpoint
+ * Weights are relative, so the default mix is roughly what the frontend does:
+ * mostly lookups, rosters and searches, occasional full list, rare scraper writes.
+ * CREATE, DELETE, INGEST and SNAPSHOT_RELOAD default to 0, enable them with --mix.
+ */
+public enum Scenario {
+
+    LIST_ALL("GET /api/players", 4) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            return List.of(get(target, "/api/players"));
+        }
+    },
+
+    GET_BY_ID("GET /api/players/{id}", 20) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            return List.of(get(target, "/api/players/" + pick(target.playerIds(), random)));
+        }
+    },
+
+    BATCH_ROSTER("GET /api/players/batch", 8) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            StringBuilder ids = new StringBuilder();
+            for (int i = 0; i < ROSTER_SIZE; i++) {
+                if (i > 0) {
+                    ids.append(',');
+                }
+                ids.append(pick(target.playerIds(), random));
+            }
+            return List.of(get(target, "/api/players/batch?ids=" + ids));
+        }
+    },
+
+    BATCH_ROSTER_POST("POST /api/players/batch", 2) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            StringBuilder ids = new StringBuilder("[");
+            for (int i = 0; i < ROSTER_SIZE; i++) {
+                if (i > 0) {
+                    ids.append(',');
+                }
+                ids.append(pick(target.playerIds(), random));
+            }
+            return List.of(post(target, "/api/players/batch", ids.append(']').toString()));
+        }
+    },
+
+    COUNT("GET /api/players/count", 2) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            return List.of(get(target, "/api/players/count"));
+        }
+    },
+
+    SEARCH("GET /api/players/search", 15) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            String term = URLEncoder.encode(pick(target.searchTerms(), random), StandardCharsets.UTF_8);
+            return List.of(get(target, "/api/players/search?name=" + term));
+        }
+    },
+
+    TEAM_ROSTER("GET /api/players/team/{teamAbbr}", 15) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            return List.of(get(target, "/api/players/team/" + pick(target.teams(), random)));
+        }
+    },
+
+    TOP_FANTASY("GET /api/players/top-fantasy", 12) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            return List.of(get(target, "/api/players/top-fantasy?limit=" + topN(random)));
+        }
+    },
+
+    TOP_SCORERS("GET /api/players/top-scorers", 6) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            return List.of(get(target, "/api/players/top-scorers?limit=" + topN(random)));
+        }
+    },
+
+    EFFICIENT_SHOOTERS("GET /api/players/efficient-shooters", 6) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            return List.of(get(target, "/api/players/efficient-shooters?limit=" + topN(random)));
+        }
+    },
+
+    /**
+     * Simulated scraper: a burst of PUTs fired at the same instant,
+     * each replaying a player's current JSON so the data doesn't change
+     */
+    WRITE_BURST("PUT /api/players/{id}", 1) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            List<HttpRequest> burst = new ArrayList<>(BURST_SIZE);
+            for (int i = 0; i < BURST_SIZE; i++) {
+                LoadTarget.WriteBody body = pick(target.writeBodies(), random);
+                burst.add(target.request("/api/players/" + body.playerId())
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body.json()))
+                        .build());
+            }
+            return burst;
+        }
+    },
+
+    /**
+     * Creates a synthetic player (a sampled player's JSON under a new id)
+     */
+    CREATE("POST /api/players", 0) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            LoadTarget.WriteBody body = target.newSyntheticPlayer(pick(target.writeBodies(), random));
+            HttpRequest request = post(target, "/api/players", body.json());
+            target.creating(request, body.playerId());
+            return List.of(request);
+        }
+
+        @Override
+        void completed(LoadTarget target, HttpRequest request, int status) {
+            target.createCompleted(request, status == 201);
+        }
+    },
+
+    /**
+     * Deletes a synthetic player CREATE made earlier in the run (once its POST
+     * has returned 201), and issues nothing if there is none, so run it with CREATE
+     */
+    DELETE("DELETE /api/players/{id}", 0) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            Long id = target.deleteCandidate();
+            if (id == null) {
+                return List.of();
+            }
+            return List.of(target.request("/api/players/" + id).DELETE().build());
+        }
+    },
+
+    /**
+     * Replays the sampled players' current JSON as one load, so the data doesn't change
+     */
+    INGEST("POST /api/players/ingest", 0) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            StringBuilder players = new StringBuilder("[");
+            for (LoadTarget.WriteBody body : target.writeBodies()) {
+                if (players.length() > 1) {
+                    players.append(',');
+                }
+                players.append(body.json());
+            }
+            return List.of(post(target, "/api/players/ingest", players.append(']').toString()));
+        }
+    },
+
+    SNAPSHOT_RELOAD("POST /api/players/snapshot/reload", 0) {
+        @Override
+        List<HttpRequest> requests(LoadTarget target, RandomGenerator random) {
+            return List.of(target.request("/api/players/snapshot/reload")
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build());
+        }
+    };
+
+    static final int BURST_SIZE = 10;
+    static final int ROSTER_SIZE = 13;
+
+    private final String endpoint;
+    private final int defaultWeight;
+
+    Scenario(String endpoint, int defaultWeight) {
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Requests issued for one arrival of this scenario
+     */
+    abstract List<HttpRequest> requests(LoadTarget target, RandomGenerator random);
+
+    /**
+     * Called when one of this scenario's requests completes, status -1 if it failed without a response
+     */
+    void completed(LoadTarget target, HttpRequest request, int status) {
+    }
+
+    private static HttpRequest get(LoadTarget target, String path) {
+        return target.request(path).GET().build();
+    }
+
+    private static HttpRequest post(LoadTarget target, String path, String json) {
+        return target.request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static <T> T pick(List<T> values, RandomGenerator random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static int topN(RandomGenerator random) {
+        return 10 + random.nextInt(41);
+    }
+}
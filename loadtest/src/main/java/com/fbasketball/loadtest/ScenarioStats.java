@@ -0,0 +1,107 @@
+package com.fbasketball.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms for one scenario
+ *
+ * responseTime is measured from the request's intended start on the arrival
+ * schedule, so time spent waiting behind a slow server is counted
+ * (coordinated omission corrected). serviceTime is measured from when the
+ * request was actually sent and is kept for comparison only.
+ *
+ * Failed requests (status >= 400, timeouts, I/O errors) go to errorTime, also
+ * from the intended start, so slow failures under overload stay visible
+ * instead of dropping out of the success percentiles.
+ */
+public class ScenarioStats {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(2);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Scenario scenario;
+    private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+    private final Histogram errorTime = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+    private final LongAdder timeouts = new LongAdder();
+
+    public ScenarioStats(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public void record(long intendedStartNanos, long sentNanos, long completedNanos) {
+        responseTime.recordValue(Math.min(completedNanos - intendedStartNanos, HIGHEST_TRACKABLE));
+        serviceTime.recordValue(Math.min(completedNanos - sentNanos, HIGHEST_TRACKABLE));
+    }
+
+    public void recordError(long intendedStartNanos, long completedNanos) {
+        errorTime.recordValue(Math.min(completedNanos - intendedStartNanos, HIGHEST_TRACKABLE));
+    }
+
+    /**
+     * A request that hit the request timeout, counted as an error
+     */
+    public void recordTimeout(long intendedStartNanos, long completedNanos) {
+        timeouts.increment();
+        recordError(intendedStartNanos, completedNanos);
+    }
+
+    public Scenario scenario() {
+        return scenario;
+    }
+
+    public long count() {
+        return responseTime.getTotalCount();
+    }
+
+    public long errors() {
+        return errorTime.getTotalCount();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    public double errorP99Millis() {
+        return errorTime.getValueAtPercentile(99.0) / NANOS_PER_MILLI;
+    }
+
+    public double percentileMillis(double percentile) {
+        return responseTime.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    public double serviceP99Millis() {
+        return serviceTime.getValueAtPercentile(99.0) / NANOS_PER_MILLI;
+    }
+
+    public double maxMillis() {
+        return responseTime.getMaxValue() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Full percentile distribution (.hgrm), loadable in HdrHistogram's plotter
+     * to overlay runs from different builds
+     */
+    public void writeDistribution(Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            responseTime.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Same for the failed requests
+     */
+    public void writeErrorDistribution(Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            errorTime.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+}
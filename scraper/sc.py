@@ -5,13 +5,14 @@ import time
 import numpy as np
 from datetime import datetime, timezone
 import os
+import sys
 from supabase import create_client, Client
 from dotenv import load_dotenv
 
 # Load environment variables
 load_dotenv()
 
-def season_averages():
+def season_averages(season='2025-26'):
     stats_url = "https://stats.nba.com/stats/leaguedashplayerstats"
 
     params = {
@@ -42,7 +43,7 @@ def season_averages():
         'PlayerPosition': '',
         'PlusMinus': 'N',
         'Rank': 'N',
-        'Season': '2025-26',
+        'Season': season,
         'SeasonSegment': '',
         'SeasonType': 'Regular Season',
         'ShotClockRange': '',
@@ -155,14 +156,53 @@ def upsert_to_supabase(df, supabase: Client):
             print(f"✓ Batch {i//batch_size + 1}: Upserted {len(batch)} players")
         
         print(f"✓ Successfully upserted all {len(records)} players")
+        return True
         
     except Exception as e:
         print(f"✗ Error upserting data: {e}")
+        return False
 
 
+def reload_snapshot(api_url):
+    """
+    Tell the API to rebuild its in-memory league from the table, it serves reads
+    from a snapshot and would otherwise only see the upsert at its next refresh
+    (app.snapshot.refresh-interval-ms)
+    """
+    try:
+        r = requests.post(f"{api_url}/api/players/snapshot/reload", timeout=60)
+        r.raise_for_status()
+        print(f"✓ {r.text}")
+        return True
+    except Exception as e:
+        print(f"✗ Error reloading the API snapshot at {api_url}: {e}")
+        return False
+
+
+
+
+def save_history(seasons, out_dir='data/history'):
+    """
+    Write one CSV of per-game averages per season, the training data
+    for the projection model (app.projections.history-dir)
+    """
+    os.makedirs(out_dir, exist_ok=True)
+    for season in seasons:
+        df = season_averages(season)
+        if df.empty:
+            print(f"✗ No data for {season}, skipping")
+            continue
+        path = os.path.join(out_dir, f"{season}.csv")
+        df.to_csv(path, index=False)
+        print(f"✓ Wrote {path}")
 
 
 if __name__ == "__main__":
+    # python sc.py --history 2022-23 2023-24 ...
+    if len(sys.argv) > 1 and sys.argv[1] == '--history':
+        save_history(sys.argv[2:])
+        exit(0)
+
     url: str = os.environ.get("SUPABASE_URL")
     key: str = os.environ.get("SUPABASE_KEY")
     
@@ -181,8 +221,11 @@ if __name__ == "__main__":
         print("✗ No data fetched. Exiting.")
         exit(1)
     
-    # Upsert to Supabase
-    upsert_to_supabase(df, supabase)
+    # Upsert to Supabase, then have the API pick it up
+    if not upsert_to_supabase(df, supabase):
+        exit(1)
+    if not reload_snapshot(os.environ.get("API_URL", "http://localhost:8080")):
+        exit(1)
 
     # Get all players
     # players = supabase.table('players').select('player_id').execute()
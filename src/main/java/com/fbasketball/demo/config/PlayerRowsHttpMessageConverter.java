@@ -0,0 +1,63 @@
+package com.fbasketball.demo.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fbasketball.demo.model.BatchPlayerResults;
+import com.fbasketball.demo.model.PlayerRow;
+import com.fbasketball.demo.model.PlayerRows;
+
+/**
+ * Writes PlayerRow / PlayerRows / BatchPlayerResults responses by copying their
+ * pre-encoded JSON straight to the response stream, bypassing Jackson. Write-only.
+ */
+public class PlayerRowsHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public PlayerRowsHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PlayerRows.class == clazz || PlayerRow.class == clazz || BatchPlayerResults.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PlayerRow is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) {
+        if (body instanceof PlayerRow row) {
+            return (long) row.json().length;
+        }
+        if (body instanceof BatchPlayerResults batch) {
+            return batch.contentLength();
+        }
+        return ((PlayerRows) body).contentLength();
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        if (body instanceof PlayerRow row) {
+            out.write(row.json());
+        } else if (body instanceof BatchPlayerResults batch) {
+            batch.writeTo(out);
+        } else {
+            ((PlayerRows) body).writeTo(out);
+        }
+    }
+}
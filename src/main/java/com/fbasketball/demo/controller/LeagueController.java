@@ -0,0 +1,159 @@
+package com.fbasketball.demo.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fbasketball.demo.model.FantasyTeam;
+import com.fbasketball.demo.model.League;
+import com.fbasketball.demo.model.TeamStanding;
+import com.fbasketball.demo.model.TradeProposal;
+import com.fbasketball.demo.service.LeagueService;
+
+/**
+ * REST Controller for fantasy leagues, rosters and trades
+ * Base URL: /api/leagues
+ */
+@RestController
+@RequestMapping("/api/leagues")
+public class LeagueController {
+
+    private final LeagueService leagueService;
+
+    public LeagueController(LeagueService leagueService) {
+        this.leagueService = leagueService;
+    }
+
+    // ========================================================================
+    // LEAGUES & TEAMS
+    // ========================================================================
+
+    /**
+     * POST /api/leagues
+     * Create a league, body: {"name": "..."}
+     */
+    @PostMapping
+    public ResponseEntity<League> createLeague(@RequestBody League league) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(leagueService.createLeague(league.getName()));
+    }
+
+    /**
+     * GET /api/leagues/{leagueId}
+     * League with its teams and rosters
+     */
+    @GetMapping("/{leagueId}")
+    public ResponseEntity<?> getLeague(@PathVariable Long leagueId) {
+        return leagueService.getLeague(leagueId)
+                .map(league -> ResponseEntity.ok(Map.of(
+                        "league", league,
+                        "teams", leagueService.getTeams(leagueId))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/leagues/{leagueId}/teams
+     * Add a team, body: {"name": "..."}
+     */
+    @PostMapping("/{leagueId}/teams")
+    public ResponseEntity<?> createTeam(@PathVariable Long leagueId, @RequestBody FantasyTeam team) {
+        if (leagueService.getLeague(leagueId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(leagueService.createTeam(leagueId, team.getName()));
+    }
+
+    // ========================================================================
+    // ROSTER MOVES
+    // ========================================================================
+
+    /**
+     * PUT /api/leagues/{leagueId}/teams/{teamId}/players/{playerId}
+     * Add a player to a roster
+     */
+    @PutMapping("/{leagueId}/teams/{teamId}/players/{playerId}")
+    public ResponseEntity<?> addPlayer(@PathVariable Long leagueId, @PathVariable Long teamId,
+                                       @PathVariable Long playerId) {
+        try {
+            return leagueService.addPlayer(leagueId, teamId, playerId)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /**
+     * DELETE /api/leagues/{leagueId}/teams/{teamId}/players/{playerId}
+     * Drop a player from a roster
+     */
+    @DeleteMapping("/{leagueId}/teams/{teamId}/players/{playerId}")
+    public ResponseEntity<?> dropPlayer(@PathVariable Long leagueId, @PathVariable Long teamId,
+                                        @PathVariable Long playerId) {
+        return leagueService.dropPlayer(leagueId, teamId, playerId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ========================================================================
+    // STANDINGS & TRADES
+    // ========================================================================
+
+    /**
+     * GET /api/leagues/{leagueId}/standings
+     * Category totals and rotisserie points per team, best first
+     */
+    @GetMapping("/{leagueId}/standings")
+    public ResponseEntity<List<TeamStanding>> getStandings(@PathVariable Long leagueId) {
+        if (leagueService.getLeague(leagueId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(leagueService.getStandings(leagueId));
+    }
+
+    /**
+     * POST /api/leagues/{leagueId}/trades/evaluate
+     * How a trade changes both teams' category totals and standings points
+     * Body: {"teamAId": 1, "teamBId": 2, "teamAGives": [2544], "teamBGives": [201939]}
+     */
+    @PostMapping("/{leagueId}/trades/evaluate")
+    public ResponseEntity<?> evaluateTrade(@PathVariable Long leagueId, @RequestBody TradeProposal proposal) {
+        if (leagueService.getLeague(leagueId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(leagueService.evaluateTrade(leagueId, proposal));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/leagues/{leagueId}/teams/{teamId}/trade-suggestions?limit=10
+     * Best 1-for-1 trades for a team that don't hurt the other side
+     */
+    @GetMapping("/{leagueId}/teams/{teamId}/trade-suggestions")
+    public ResponseEntity<?> suggestTrades(@PathVariable Long leagueId, @PathVariable Long teamId,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        if (leagueService.getLeague(leagueId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return leagueService.suggestTrades(leagueId, teamId, limit)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
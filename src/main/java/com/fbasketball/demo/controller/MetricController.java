@@ -0,0 +1,83 @@
+package com.fbasketball.demo.controller;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fbasketball.demo.expression.ExpressionException;
+import com.fbasketball.demo.expression.StatColumn;
+import com.fbasketball.demo.service.MetricService;
+
+/**
+ * REST Controller for derived metrics
+ * Base URL: /api/metrics
+ *
+ * `metric` is either a built-in name (GET /api/metrics) or an expression over
+ * the stat columns, e.g. (pts / min) * 36 or pts / (2 * (fga + 0.44 * fta))
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricController {
+
+    private final MetricService metricService;
+
+    public MetricController(MetricService metricService) {
+        this.metricService = metricService;
+    }
+
+    /**
+     * GET /api/metrics
+     * Built-in metrics and the columns/functions available to expressions
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        List<String> columns = Arrays.stream(StatColumn.values()).map(StatColumn::columnName).toList();
+        return ResponseEntity.ok(Map.of(
+                "builtIn", MetricService.BUILT_IN,
+                "columns", columns,
+                "functions", List.of("abs(x)", "sqrt(x)", "min(x, y)", "max(x, y)")));
+    }
+
+    /**
+     * GET /api/metrics/leaderboard?metric=ts_pct&limit=10&order=desc
+     * Players sorted by a metric, order is asc or desc
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getLeaderboard(
+            @RequestParam String metric,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "desc") String order) {
+        if (!"asc".equalsIgnoreCase(order) && !"desc".equalsIgnoreCase(order)) {
+            return ResponseEntity.badRequest().body("Invalid order: " + order + " (use asc or desc)");
+        }
+        try {
+            return ResponseEntity.ok(metricService.leaderboard(metric, limit, "asc".equalsIgnoreCase(order)));
+
+        } catch (ExpressionException e) {
+            return ResponseEntity.badRequest().body("Invalid metric: " + e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/metrics/filter?metric=per36_pts&min=25
+     * Players whose metric value is within [min, max]
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterPlayers(
+            @RequestParam String metric,
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max) {
+        try {
+            return ResponseEntity.ok(metricService.filter(metric, min, max));
+
+        } catch (ExpressionException e) {
+            return ResponseEntity.badRequest().body("Invalid metric: " + e.getMessage());
+        }
+    }
+}
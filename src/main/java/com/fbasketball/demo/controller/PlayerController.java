@@ -1,7 +1,10 @@
 package com.fbasketball.demo.controller;
 
 import java.util.List;
+import java.util.Objects;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,8 +17,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fbasketball.demo.model.BatchPlayerResults;
 import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.model.PlayerRow;
+import com.fbasketball.demo.model.PlayerRows;
 import com.fbasketball.demo.service.PlayerService;
+import com.fbasketball.demo.service.WriteBehindUpdateQueue;
 
 /**
  * REST Controller for NBA players
@@ -25,10 +32,18 @@ import com.fbasketball.demo.service.PlayerService;
 @RequestMapping("/api/players")
 public class PlayerController {
     
+    // Upper bound for batch lookups (a whole league of rosters is ~180)
+    private static final int MAX_BATCH_SIZE = 500;
+    
     private final PlayerService playerService;
     
-    public PlayerController(PlayerService playerService) {
+    // Only present when app.write-behind.enabled=true
+    private final WriteBehindUpdateQueue writeBehindQueue;
+    
+    public PlayerController(PlayerService playerService,
+                            ObjectProvider<WriteBehindUpdateQueue> writeBehindQueue) {
         this.playerService = playerService;
+        this.writeBehindQueue = writeBehindQueue.getIfAvailable();
     }
     
     // ========================================================================
@@ -40,7 +55,7 @@ public class PlayerController {
      * Get all players
      */
     @GetMapping
-    public ResponseEntity<List<Player>> getAllPlayers() {
+    public ResponseEntity<PlayerRows> getAllPlayers() {
         return ResponseEntity.ok(playerService.getAllPlayers());
     }
     
@@ -49,12 +64,44 @@ public class PlayerController {
      * Get player by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Player> getPlayerById(@PathVariable Long id) {
-        return playerService.getPlayerById(id)
+    public ResponseEntity<PlayerRow> getPlayerById(@PathVariable Long id) {
+        return playerService.getPlayerRowById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * GET /api/players/batch?ids=2544,201939,203999
+     * Get several players in one request (e.g. a roster or watchlist)
+     * Results keep the request order, missing ids come back with found=false
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<?> getPlayersByIds(@RequestParam List<Long> ids) {
+        return batchLookup(ids);
+    }
+    
+    /**
+     * POST /api/players/batch
+     * Same as GET /batch, with the ids as a JSON array body for long lists
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getPlayersByIdsPost(@RequestBody List<Long> ids) {
+        return batchLookup(ids);
+    }
+    
+    private ResponseEntity<?> batchLookup(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity
+                    .badRequest()
+                    .body("Too many ids: " + ids.size() + " (max " + MAX_BATCH_SIZE + ")");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            return ResponseEntity.badRequest().body("Ids must not be null");
+        }
+        BatchPlayerResults results = playerService.getPlayersByIds(ids);
+        return ResponseEntity.ok(results);
+    }
+    
     /**
      * GET /api/players/count
      * Get total player count
@@ -73,10 +120,10 @@ public class PlayerController {
      * Search by name
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Player>> searchPlayersByName(@RequestParam String name) {
-        return playerService.searchPlayersByName(name)
-                .isEmpty() ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(playerService.searchPlayersByName(name));
+    public ResponseEntity<PlayerRows> searchPlayersByName(@RequestParam String name) {
+        PlayerRows matches = playerService.searchPlayersByName(name);
+        return matches.isEmpty() ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(matches);
     }
     
     /**
@@ -84,7 +131,7 @@ public class PlayerController {
      * Get team roster
      */
     @GetMapping("/team/{teamAbbr}")
-    public ResponseEntity<List<Player>> getPlayersByTeam(@PathVariable String teamAbbr) {
+    public ResponseEntity<PlayerRows> getPlayersByTeam(@PathVariable String teamAbbr) {
         return ResponseEntity.ok(playerService.getPlayersByTeam(teamAbbr));
     }
     
@@ -97,7 +144,7 @@ public class PlayerController {
      * Top fantasy players
      */
     @GetMapping("/top-fantasy")
-    public ResponseEntity<List<Player>> getTopFantasyPlayers(
+    public ResponseEntity<PlayerRows> getTopFantasyPlayers(
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(playerService.getTopFantasyPlayers(limit));
     }
@@ -107,7 +154,7 @@ public class PlayerController {
      * Top scorers
      */
     @GetMapping("/top-scorers")
-    public ResponseEntity<List<Player>> getTopScorers(
+    public ResponseEntity<PlayerRows> getTopScorers(
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(playerService.getTopScorers(limit));
     }
@@ -117,7 +164,7 @@ public class PlayerController {
      * Most efficient shooters
      */
     @GetMapping("/efficient-shooters")
-    public ResponseEntity<List<Player>> getEfficientShooters(
+    public ResponseEntity<PlayerRows> getEfficientShooters(
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(playerService.getEfficientShooters(limit));
     }
@@ -148,17 +195,64 @@ public class PlayerController {
         }
     }
     
+    /**
+     * POST /api/players/ingest
+     * Upsert a full load of players in one transaction
+     * Readers see either the whole previous league or the whole new one, never a mix
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<?> ingestPlayers(@RequestBody List<Player> players) {
+        try {
+            List<Player> saved = playerService.ingestPlayers(players);
+            return ResponseEntity.ok("Ingested " + saved.size() + " players");
+            
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error ingesting players: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * POST /api/players/snapshot/reload
+     * Rebuild the in-memory league from the database
+     * Call after writing to the table directly (e.g. the scraper's Supabase upsert)
+     */
+    @PostMapping("/snapshot/reload")
+    public ResponseEntity<String> reloadSnapshot() {
+        return ResponseEntity.ok("Published snapshot version " + playerService.reloadSnapshot());
+    }
+    
     /**
      * PUT /api/players/{id}
      * Update a player
+     * In write-behind mode the update is queued and 202 Accepted is returned; queued
+     * updates only overwrite the fields they set. 503 means the queue is full, retry later,
+     * 400 that a field the update sets is invalid.
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updatePlayer(@PathVariable Long id, @RequestBody Player player) {
         try {
-            return playerService.getPlayerById(id)
-                    .map(existing -> ResponseEntity.ok(playerService.updatePlayer(id, player)))
-                    .orElse(ResponseEntity.notFound().build());
-                    
+            if (writeBehindQueue != null) {
+                if (!playerService.playerExists(id)) {
+                    return ResponseEntity.notFound().build();
+                }
+                if (!writeBehindQueue.submit(id, player)) {
+                    return ResponseEntity
+                            .status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .body("Update queue is full, retry later");
+                }
+                return ResponseEntity.accepted().build();
+            }
+            
+            if (!playerService.playerExists(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(playerService.updatePlayer(id, player));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -172,11 +266,11 @@ public class PlayerController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletePlayer(@PathVariable Long id) {
-        return playerService.getPlayerById(id)
-                .map(existing -> {
-                    playerService.deletePlayer(id);
-                    return ResponseEntity.noContent().build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        // Checked against the database, the snapshot may not have the player yet
+        if (!playerService.playerExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        playerService.deletePlayer(id);
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
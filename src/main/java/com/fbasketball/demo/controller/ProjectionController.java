@@ -0,0 +1,98 @@
+package com.fbasketball.demo.controller;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fbasketball.demo.projection.ProjectionModel;
+import com.fbasketball.demo.service.ProjectionService;
+
+/**
+ * REST Controller for fantasy points projections
+ * Base URL: /api/projections
+ *
+ * 503 means there is no trained model yet: put season CSVs in
+ * app.projections.history-dir and POST /api/projections/train
+ */
+@RestController
+@RequestMapping("/api/projections")
+public class ProjectionController {
+
+    private static final String NO_MODEL = "No projection model, not enough season history to train on";
+
+    private final ProjectionService projectionService;
+
+    public ProjectionController(ProjectionService projectionService) {
+        this.projectionService = projectionService;
+    }
+
+    /**
+     * GET /api/projections?limit=25
+     * Players by projected fantasy points per game, with their current average
+     */
+    @GetMapping
+    public ResponseEntity<?> getProjections(@RequestParam(defaultValue = "25") int limit) {
+        return projectionService.topProjections(limit)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(noModel());
+    }
+
+    /**
+     * GET /api/projections/{playerId}
+     * One player's projection
+     */
+    @GetMapping("/{playerId}")
+    public ResponseEntity<?> getProjection(@PathVariable Long playerId) {
+        Optional<ProjectionModel> model = projectionService.model();
+        if (model.isEmpty()) {
+            return noModel();
+        }
+        return projectionService.projectionFor(model.get(), playerId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/projections/model
+     * Training seasons, error vs. the naive projection, feature weights,
+     * training time and the cost of scoring the league
+     */
+    @GetMapping("/model")
+    public ResponseEntity<?> getModel() {
+        return projectionService.summary()
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(noModel());
+    }
+
+    /**
+     * POST /api/projections/train
+     * Retrain from the season history (e.g. after adding last season's CSV)
+     */
+    @PostMapping("/train")
+    public ResponseEntity<?> train() {
+        try {
+            ProjectionModel model = projectionService.retrain();
+            return ResponseEntity.ok("Trained on " + model.examples() + " examples in "
+                    + model.trainingMillis() + " ms");
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error reading season history: " + e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<?> noModel() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(NO_MODEL);
+    }
+}
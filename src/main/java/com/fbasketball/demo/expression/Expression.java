@@ -0,0 +1,85 @@
+package com.fbasketball.demo.expression;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.fbasketball.demo.model.Player;
+
+/**
+ * A compiled metric expression over player stat columns, e.g. "(pts / min) * 36"
+ *
+ * Parsed and validated once, then compiled to a tree of specialized lambdas
+ * (constants folded, constant operands captured), so evaluation is plain
+ * arithmetic on a primitive stats row with no interpretation or boxing.
+ *
+ * Grammar:
+ *   expr    := term (('+' | '-') term)*
+ *   term    := unary (('*' | '/') unary)*
+ *   unary   := '-' unary | primary
+ *   primary := number | column | function '(' expr (',' expr)* ')' | '(' expr ')'
+ *
+ * Columns are the StatColumn names (pts, fga, fg3_pct, ...), functions are
+ * abs, sqrt, min and max. Missing stats are NaN and propagate.
+ */
+public final class Expression {
+
+    /**
+     * Compiled form: evaluates against a stats row indexed by StatColumn.ordinal()
+     */
+    @FunctionalInterface
+    public interface Evaluator {
+        double evaluate(double[] stats);
+    }
+
+    private final String source;
+    private final Evaluator evaluator;
+    private final Set<StatColumn> columns;
+
+    private Expression(String source, Evaluator evaluator, Set<StatColumn> columns) {
+        this.source = source;
+        this.evaluator = evaluator;
+        this.columns = columns;
+    }
+
+    /**
+     * Parse, validate and compile. Throws ExpressionException on invalid input.
+     */
+    public static Expression compile(String source) {
+        EnumSet<StatColumn> columns = EnumSet.noneOf(StatColumn.class);
+        ExpressionParser.Node tree = new ExpressionParser(source, columns).parse();
+        return new Expression(source, tree.compile(), Collections.unmodifiableSet(columns));
+    }
+
+    public double evaluate(double[] stats) {
+        return evaluator.evaluate(stats);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * Columns the expression reads
+     */
+    public Set<StatColumn> columns() {
+        return columns;
+    }
+
+    /**
+     * Stats row for one player, in the layout evaluate() expects
+     */
+    public static double[] statsOf(Player player) {
+        StatColumn[] all = StatColumn.values();
+        double[] stats = new double[all.length];
+        for (StatColumn column : all) {
+            stats[column.ordinal()] = column.read(player);
+        }
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,18 @@
+package com.fbasketball.demo.expression;
+
+/**
+ * Thrown when a metric expression can't be parsed or refers to unknown columns/functions
+ */
+public class ExpressionException extends IllegalArgumentException {
+
+    private final int position;
+
+    public ExpressionException(String message, int position) {
+        super(message + " at position " + position);
+        this.position = position;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
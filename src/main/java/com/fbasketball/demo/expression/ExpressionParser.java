@@ -0,0 +1,308 @@
+package com.fbasketball.demo.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recursive descent parser for metric expressions (grammar in Expression)
+ * Produces a small AST whose nodes compile themselves to Evaluators.
+ */
+final class ExpressionParser {
+
+    // Longest accepted expression, keeps user input from building huge trees
+    private static final int MAX_LENGTH = 500;
+
+    private final String source;
+    private final Set<StatColumn> columns;
+    private int pos;
+
+    ExpressionParser(String source, Set<StatColumn> columns) {
+        this.source = source;
+        this.columns = columns;
+    }
+
+    Node parse() {
+        if (source == null || source.isBlank()) {
+            throw new ExpressionException("Expression is empty", 0);
+        }
+        if (source.length() > MAX_LENGTH) {
+            throw new ExpressionException("Expression is longer than " + MAX_LENGTH + " characters", MAX_LENGTH);
+        }
+        Node node = expr();
+        skipWhitespace();
+        if (pos < source.length()) {
+            throw new ExpressionException("Unexpected '" + source.charAt(pos) + "'", pos);
+        }
+        return node;
+    }
+
+    // ========================================================================
+    // GRAMMAR
+    // ========================================================================
+
+    private Node expr() {
+        Node node = term();
+        while (true) {
+            if (accept('+')) {
+                node = Binary.of('+', node, term());
+            } else if (accept('-')) {
+                node = Binary.of('-', node, term());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node term() {
+        Node node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = Binary.of('*', node, unary());
+            } else if (accept('/')) {
+                node = Binary.of('/', node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (accept('-')) {
+            Node operand = unary();
+            return operand instanceof Constant c ? new Constant(-c.value()) : new Negate(operand);
+        }
+        return primary();
+    }
+
+    private Node primary() {
+        skipWhitespace();
+        int start = pos;
+        if (accept('(')) {
+            Node node = expr();
+            expect(')');
+            return node;
+        }
+        if (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            return number();
+        }
+        if (pos < source.length() && Character.isLetter(source.charAt(pos))) {
+            String name = identifier();
+            if (accept('(')) {
+                return call(name, start);
+            }
+            StatColumn column = StatColumn.byName(name);
+            if (column == null) {
+                throw new ExpressionException("Unknown column '" + name + "'", start);
+            }
+            columns.add(column);
+            return new Column(column);
+        }
+        throw new ExpressionException(pos < source.length()
+                ? "Unexpected '" + source.charAt(pos) + "'"
+                : "Unexpected end of expression", pos);
+    }
+
+    private Node call(String name, int start) {
+        List<Node> args = new ArrayList<>();
+        args.add(expr());
+        while (accept(',')) {
+            args.add(expr());
+        }
+        expect(')');
+
+        Function function = Function.byName(name);
+        if (function == null) {
+            throw new ExpressionException("Unknown function '" + name + "'", start);
+        }
+        if (args.size() != function.arity) {
+            throw new ExpressionException(name + "() takes " + function.arity + " argument(s)", start);
+        }
+        return Call.of(function, args);
+    }
+
+    // ========================================================================
+    // TOKENS
+    // ========================================================================
+
+    private Node number() {
+        int start = pos;
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            pos++;
+        }
+        try {
+            return new Constant(Double.parseDouble(source.substring(start, pos)));
+        } catch (NumberFormatException e) {
+            throw new ExpressionException("Invalid number '" + source.substring(start, pos) + "'", start);
+        }
+    }
+
+    private String identifier() {
+        int start = pos;
+        while (pos < source.length()
+                && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '_')) {
+            pos++;
+        }
+        return source.substring(start, pos);
+    }
+
+    private boolean accept(char c) {
+        skipWhitespace();
+        if (pos < source.length() && source.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw new ExpressionException("Expected '" + c + "'", pos);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    // ========================================================================
+    // AST + COMPILATION
+    // ========================================================================
+
+    sealed interface Node permits Constant, Column, Negate, Binary, Call {
+        Expression.Evaluator compile();
+    }
+
+    record Constant(double value) implements Node {
+        @Override
+        public Expression.Evaluator compile() {
+            double v = value;
+            return stats -> v;
+        }
+    }
+
+    record Column(StatColumn column) implements Node {
+        @Override
+        public Expression.Evaluator compile() {
+            int index = column.ordinal();
+            return stats -> stats[index];
+        }
+    }
+
+    record Negate(Node operand) implements Node {
+        @Override
+        public Expression.Evaluator compile() {
+            Expression.Evaluator o = operand.compile();
+            return stats -> -o.evaluate(stats);
+        }
+    }
+
+    record Binary(char op, Node left, Node right) implements Node {
+
+        // Folds constant subtrees at parse time
+        static Node of(char op, Node left, Node right) {
+            if (left instanceof Constant l && right instanceof Constant r) {
+                return new Constant(apply(op, l.value(), r.value()));
+            }
+            return new Binary(op, left, right);
+        }
+
+        static double apply(char op, double a, double b) {
+            return switch (op) {
+                case '+' -> a + b;
+                case '-' -> a - b;
+                case '*' -> a * b;
+                default -> a / b;
+            };
+        }
+
+        // One lambda shape per operator and operand kind, so a constant operand
+        // is a captured double instead of a call
+        @Override
+        public Expression.Evaluator compile() {
+            if (right instanceof Constant r) {
+                Expression.Evaluator l = left.compile();
+                double c = r.value();
+                return switch (op) {
+                    case '+' -> stats -> l.evaluate(stats) + c;
+                    case '-' -> stats -> l.evaluate(stats) - c;
+                    case '*' -> stats -> l.evaluate(stats) * c;
+                    default -> stats -> l.evaluate(stats) / c;
+                };
+            }
+            if (left instanceof Constant lc) {
+                Expression.Evaluator r = right.compile();
+                double c = lc.value();
+                return switch (op) {
+                    case '+' -> stats -> c + r.evaluate(stats);
+                    case '-' -> stats -> c - r.evaluate(stats);
+                    case '*' -> stats -> c * r.evaluate(stats);
+                    default -> stats -> c / r.evaluate(stats);
+                };
+            }
+            Expression.Evaluator l = left.compile();
+            Expression.Evaluator r = right.compile();
+            return switch (op) {
+                case '+' -> stats -> l.evaluate(stats) + r.evaluate(stats);
+                case '-' -> stats -> l.evaluate(stats) - r.evaluate(stats);
+                case '*' -> stats -> l.evaluate(stats) * r.evaluate(stats);
+                default -> stats -> l.evaluate(stats) / r.evaluate(stats);
+            };
+        }
+    }
+
+    enum Function {
+        ABS(1), SQRT(1), MIN(2), MAX(2);
+
+        final int arity;
+
+        Function(int arity) {
+            this.arity = arity;
+        }
+
+        static Function byName(String name) {
+            for (Function function : values()) {
+                if (function.name().equalsIgnoreCase(name)) {
+                    return function;
+                }
+            }
+            return null;
+        }
+    }
+
+    record Call(Function function, List<Node> args) implements Node {
+
+        static Node of(Function function, List<Node> args) {
+            if (args.stream().allMatch(arg -> arg instanceof Constant)) {
+                double a = ((Constant) args.get(0)).value();
+                double b = args.size() > 1 ? ((Constant) args.get(1)).value() : 0;
+                return new Constant(switch (function) {
+                    case ABS -> Math.abs(a);
+                    case SQRT -> Math.sqrt(a);
+                    case MIN -> Math.min(a, b);
+                    case MAX -> Math.max(a, b);
+                });
+            }
+            return new Call(function, List.copyOf(args));
+        }
+
+        @Override
+        public Expression.Evaluator compile() {
+            Expression.Evaluator a = args.get(0).compile();
+            return switch (function) {
+                case ABS -> stats -> Math.abs(a.evaluate(stats));
+                case SQRT -> stats -> Math.sqrt(a.evaluate(stats));
+                case MIN -> {
+                    Expression.Evaluator b = args.get(1).compile();
+                    yield stats -> Math.min(a.evaluate(stats), b.evaluate(stats));
+                }
+                case MAX -> {
+                    Expression.Evaluator b = args.get(1).compile();
+                    yield stats -> Math.max(a.evaluate(stats), b.evaluate(stats));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fbasketball.demo.expression;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fbasketball.demo.model.Player;
+
+/**
+ * Player stat columns usable in expressions, named like the database columns
+ * Also the layout of PlayerRow's primitive stats array (by ordinal).
+ */
+public enum StatColumn {
+    AGE("age", Player::getAge),
+    GP("gp", Player::getGp),
+    W("w", Player::getW),
+    L("l", Player::getL),
+    W_PCT("wpct", Player::getWPct),
+    MIN("min", Player::getMin),
+    FGM("fgm", Player::getFgm),
+    FGA("fga", Player::getFga),
+    FG_PCT("fgPct", Player::getFgPct),
+    FG3M("fg3m", Player::getFg3m),
+    FG3A("fg3a", Player::getFg3a),
+    FG3_PCT("fg3Pct", Player::getFg3Pct),
+    FTM("ftm", Player::getFtm),
+    FTA("fta", Player::getFta),
+    FT_PCT("ftPct", Player::getFtPct),
+    OREB("oreb", Player::getOreb),
+    DREB("dreb", Player::getDreb),
+    REB("reb", Player::getReb),
+    AST("ast", Player::getAst),
+    TOV("tov", Player::getTov),
+    STL("stl", Player::getStl),
+    BLK("blk", Player::getBlk),
+    PF("pf", Player::getPf),
+    PTS("pts", Player::getPts),
+    PLUS_MINUS("plusMinus", Player::getPlusMinus),
+    NBA_FANTASY_PTS("nbaFantasyPts", Player::getNbaFantasyPts);
+
+    private static final Map<String, StatColumn> BY_NAME = Stream.of(values())
+            .collect(Collectors.toUnmodifiableMap(StatColumn::columnName, Function.identity()));
+
+    private final String jsonName;
+    private final Function<Player, Double> getter;
+
+    StatColumn(String jsonName, Function<Player, Double> getter) {
+        this.jsonName = jsonName;
+        this.getter = getter;
+    }
+
+    /**
+     * Property name in the Player JSON (as Jackson names the getter)
+     */
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public String columnName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Column value, NaN if the player has no value for it
+     */
+    public double read(Player player) {
+        Double value = getter.apply(player);
+        return value == null ? Double.NaN : value;
+    }
+
+    public static StatColumn byName(String name) {
+        return BY_NAME.get(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,27 @@
+package com.fbasketball.demo.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One entry of a batch lookup response, in the same position as the requested id
+ * found=false (and player=null) marks ids that don't exist
+ */
+public record BatchPlayerResult(Long id, boolean found, PlayerRow player) {
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    public static BatchPlayerResult of(Long id, PlayerRow player) {
+        return new BatchPlayerResult(id, player != null, player);
+    }
+
+    /**
+     * {"id":...,"found":...,"player": - the player's JSON (or null) and '}' follow
+     */
+    byte[] head() {
+        return ("{\"id\":" + id + ",\"found\":" + found + ",\"player\":").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    byte[] playerJson() {
+        return player != null ? player.json() : NULL;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fbasketball.demo.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * A batch lookup response, written as a JSON array with each found player's
+ * pre-encoded row copied in (see PlayerRowsHttpMessageConverter)
+ */
+public record BatchPlayerResults(List<BatchPlayerResult> results) {
+
+    /**
+     * Exact size of the JSON array in bytes
+     */
+    public long contentLength() {
+        long length = 2 + Math.max(0, results.size() - 1);
+        for (BatchPlayerResult result : results) {
+            length += result.head().length + result.playerJson().length + 1;
+        }
+        return length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < results.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            BatchPlayerResult result = results.get(i);
+            out.write(result.head());
+            out.write(result.playerJson());
+            out.write('}');
+        }
+        out.write(']');
+    }
+}
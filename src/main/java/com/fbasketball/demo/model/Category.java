@@ -0,0 +1,21 @@
+package com.fbasketball.demo.model;
+
+/**
+ * Standard 9-category fantasy scoring
+ */
+public enum Category {
+    FG_PCT,
+    FT_PCT,
+    FG3M,
+    PTS,
+    REB,
+    AST,
+    STL,
+    BLK,
+    TOV;
+
+    // Turnovers are the only category where less is better
+    public boolean lowerIsBetter() {
+        return this == TOV;
+    }
+}
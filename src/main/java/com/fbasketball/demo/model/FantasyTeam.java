@@ -0,0 +1,86 @@
+package com.fbasketball.demo.model;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * A team in a fantasy league and its roster (NBA player ids)
+ */
+@Entity
+@Table(name = "fantasy_teams")
+public class FantasyTeam {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @NotNull(message = "League ID is required")
+    @Column(name = "league_id", nullable = false)
+    private Long leagueId;
+
+    @NotBlank(message = "Team name is required")
+    @Size(max = 100, message = "Team name cannot exceed 100 characters")
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "fantasy_team_players", joinColumns = @JoinColumn(name = "team_id"))
+    @Column(name = "player_id")
+    private Set<Long> playerIds = new LinkedHashSet<>();
+
+    // Default constructor required by JPA
+    public FantasyTeam() {
+    }
+
+    public FantasyTeam(Long leagueId, String name) {
+        this.leagueId = leagueId;
+        this.name = name;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(Long teamId) {
+        this.teamId = teamId;
+    }
+
+    public Long getLeagueId() {
+        return leagueId;
+    }
+
+    public void setLeagueId(Long leagueId) {
+        this.leagueId = leagueId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Set<Long> getPlayerIds() {
+        return playerIds;
+    }
+
+    public void setPlayerIds(Set<Long> playerIds) {
+        this.playerIds = playerIds;
+    }
+}
@@ -0,0 +1,52 @@
+package com.fbasketball.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Fantasy league, a set of FantasyTeams competing in the same categories
+ */
+@Entity
+@Table(name = "leagues")
+public class League {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "league_id")
+    private Long leagueId;
+
+    @NotBlank(message = "League name is required")
+    @Size(max = 100, message = "League name cannot exceed 100 characters")
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    // Default constructor required by JPA
+    public League() {
+    }
+
+    public League(String name) {
+        this.name = name;
+    }
+
+    public Long getLeagueId() {
+        return leagueId;
+    }
+
+    public void setLeagueId(Long leagueId) {
+        this.leagueId = leagueId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
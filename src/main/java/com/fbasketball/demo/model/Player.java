@@ -196,7 +196,17 @@ public class Player {
         this.nbaFantasyPts = nbaFantasyPts;
         this.headshot = headshot;
     }
-    
+
+    // Copy constructor (detached copies for read snapshots)
+    public Player(Player other) {
+        this(other.playerId, other.playerName, other.teamId, other.teamAbbreviation,
+             other.age, other.gp, other.w, other.l, other.wPct, other.min,
+             other.fgm, other.fga, other.fgPct, other.fg3m, other.fg3a, other.fg3Pct,
+             other.ftm, other.fta, other.ftPct, other.oreb, other.dreb, other.reb,
+             other.ast, other.tov, other.stl, other.blk, other.pf, other.pts,
+             other.plusMinus, other.nbaFantasyPts, other.headshot);
+    }
+
     // Getters and Setters
     public Long getPlayerId() {
         return playerId;
@@ -0,0 +1,14 @@
+package com.fbasketball.demo.model;
+
+/**
+ * A player with the value of a derived metric
+ *
+ * Only the player's identity is carried, not the entity: a leaderboard entry
+ * serializes as four fields instead of every stat.
+ */
+public record PlayerMetric(long playerId, String playerName, String teamAbbreviation, double value) {
+
+    public static PlayerMetric of(PlayerRow row, double value) {
+        return new PlayerMetric(row.playerId(), row.playerName(), row.teamAbbreviation(), value);
+    }
+}
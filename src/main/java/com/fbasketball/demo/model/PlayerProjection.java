@@ -0,0 +1,13 @@
+package com.fbasketball.demo.model;
+
+/**
+ * A player's projected fantasy points per game next to the current average
+ * (actual is null if the player has no fantasy points yet)
+ */
+public record PlayerProjection(
+        Long playerId,
+        String playerName,
+        String teamAbbreviation,
+        Double actualFantasyPts,
+        double projectedFantasyPts) {
+}
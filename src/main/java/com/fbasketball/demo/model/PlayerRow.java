@@ -0,0 +1,143 @@
+package com.fbasketball.demo.model;
+
+import java.nio.charset.StandardCharsets;
+
+import com.fbasketball.demo.expression.Expression;
+import com.fbasketball.demo.expression.StatColumn;
+
+/**
+ * Read model of a Player for API responses
+ *
+ * Stats are primitive doubles indexed by StatColumn.ordinal() (NaN where the
+ * entity has null), and the JSON is encoded once when the row is built, so
+ * serving a row is a byte copy. The JSON matches what Jackson writes for the
+ * Player entity. Immutable; built per league snapshot.
+ */
+public final class PlayerRow {
+
+    private final long playerId;
+    private final String playerName;
+    private final boolean hasTeamId;
+    private final long teamId;
+    private final String teamAbbreviation;
+    private final double[] stats;
+    private final String headshot;
+    private final byte[] json;
+
+    private PlayerRow(Player player) {
+        this.playerId = player.getPlayerId();
+        this.playerName = player.getPlayerName();
+        this.hasTeamId = player.getTeamId() != null;
+        this.teamId = hasTeamId ? player.getTeamId() : 0;
+        this.teamAbbreviation = player.getTeamAbbreviation();
+        this.headshot = player.getHeadshot();
+
+        this.stats = Expression.statsOf(player);
+        this.json = encode();
+    }
+
+    public static PlayerRow of(Player player) {
+        return new PlayerRow(player);
+    }
+
+    public long playerId() {
+        return playerId;
+    }
+
+    public String playerName() {
+        return playerName;
+    }
+
+    public String teamAbbreviation() {
+        return teamAbbreviation;
+    }
+
+    public double stat(StatColumn column) {
+        return stats[column.ordinal()];
+    }
+
+    /**
+     * Stats row in the layout Expression.evaluate() expects (do not modify)
+     */
+    public double[] stats() {
+        return stats;
+    }
+
+    /**
+     * Pre-encoded UTF-8 JSON object (do not modify)
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    // ========================================================================
+    // JSON ENCODING (once per row)
+    // ========================================================================
+
+    private byte[] encode() {
+        StringBuilder out = new StringBuilder(768);
+        out.append("{\"playerId\":").append(playerId);
+        out.append(",\"playerName\":");
+        string(out, playerName);
+        out.append(",\"teamId\":");
+        if (hasTeamId) {
+            out.append(teamId);
+        } else {
+            out.append("null");
+        }
+        out.append(",\"teamAbbreviation\":");
+        string(out, teamAbbreviation);
+        for (StatColumn column : StatColumn.values()) {
+            if (column != StatColumn.W_PCT) {
+                number(out, column);
+            }
+        }
+        out.append(",\"headshot\":");
+        string(out, headshot);
+        // Jackson writes wpct last: getWPct() doesn't match the wPct field, so it
+        // becomes a getter-only property ordered after all the fields
+        number(out, StatColumn.W_PCT);
+        out.append('}');
+
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void number(StringBuilder out, StatColumn column) {
+        out.append(",\"").append(column.jsonName()).append("\":");
+        double value = stats[column.ordinal()];
+        if (Double.isNaN(value)) {
+            out.append("null");
+        } else {
+            // Same formatting as Jackson (Double.toString)
+            out.append(value);
+        }
+    }
+
+    private static void string(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\b' -> out.append("\\b");
+                case '\f' -> out.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
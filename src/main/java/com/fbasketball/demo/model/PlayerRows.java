@@ -0,0 +1,49 @@
+package com.fbasketball.demo.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * A list of PlayerRows as an API response, written as a JSON array straight
+ * from the rows' pre-encoded bytes (see PlayerRowsHttpMessageConverter)
+ */
+public record PlayerRows(List<PlayerRow> rows) {
+
+    private static final byte[] EMPTY = {'[', ']'};
+
+    public static final PlayerRows NONE = new PlayerRows(List.of());
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Exact size of the JSON array in bytes
+     */
+    public long contentLength() {
+        if (rows.isEmpty()) {
+            return EMPTY.length;
+        }
+        long length = 2 + rows.size() - 1;
+        for (PlayerRow row : rows) {
+            length += row.json().length;
+        }
+        return length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        if (rows.isEmpty()) {
+            out.write(EMPTY);
+            return;
+        }
+        out.write('[');
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(rows.get(i).json());
+        }
+        out.write(']');
+    }
+}
@@ -0,0 +1,23 @@
+package com.fbasketball.demo.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How the projection model was trained and what scoring the league costs
+ * (scoredVersion / scoringMicros are null until the league has been scored)
+ */
+public record ProjectionModelSummary(
+        List<String> seasons,
+        int examples,
+        double lambda,
+        double cvRmse,
+        double baselineRmse,
+        long trainingMillis,
+        Instant trainedAt,
+        Map<String, Double> weights,
+        Long scoredVersion,
+        Integer scoredPlayers,
+        Long scoringMicros) {
+}
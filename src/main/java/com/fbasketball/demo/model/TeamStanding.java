@@ -0,0 +1,16 @@
+package com.fbasketball.demo.model;
+
+import java.util.Map;
+
+/**
+ * One row of the league standings: category totals (per-game, summed over
+ * the roster) and rotisserie points per category
+ */
+public record TeamStanding(
+        Long teamId,
+        String name,
+        int rosterSize,
+        Map<Category, Double> totals,
+        Map<Category, Double> points,
+        double totalPoints) {
+}
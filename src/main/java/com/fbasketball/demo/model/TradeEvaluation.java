@@ -0,0 +1,21 @@
+package com.fbasketball.demo.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Effect of a trade on both teams: rotisserie standings points before/after
+ * and the change in each category total
+ */
+public record TradeEvaluation(
+        Long teamAId,
+        Long teamBId,
+        List<Long> teamAGives,
+        List<Long> teamBGives,
+        double teamAPointsBefore,
+        double teamAPointsAfter,
+        double teamBPointsBefore,
+        double teamBPointsAfter,
+        Map<Category, Double> teamACategoryChange,
+        Map<Category, Double> teamBCategoryChange) {
+}
@@ -0,0 +1,15 @@
+package com.fbasketball.demo.model;
+
+import java.util.List;
+
+/**
+ * Request body for trade evaluation: team A sends teamAGives to team B,
+ * team B sends teamBGives to team A
+ */
+public record TradeProposal(Long teamAId, Long teamBId, List<Long> teamAGives, List<Long> teamBGives) {
+
+    public TradeProposal {
+        teamAGives = teamAGives == null ? List.of() : teamAGives;
+        teamBGives = teamBGives == null ? List.of() : teamBGives;
+    }
+}
@@ -0,0 +1,165 @@
+package com.fbasketball.demo.projection;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fbasketball.demo.expression.Expression;
+
+/**
+ * Trained ridge regression projecting a player's fantasy points per game going
+ * forward from the player's current per-game stats (trained on each season's
+ * stats against the next season's fantasy average)
+ *
+ * Features are metric expressions over the stats row (see FEATURES), standardized
+ * with the training mean and standard deviation; a feature that is undefined for a
+ * player (missing stat, zero minutes) counts as the training mean. Immutable;
+ * built by ProjectionTrainer.
+ */
+public final class ProjectionModel {
+
+    // Feature name -> expression over the stat columns
+    public static final Map<String, String> FEATURES;
+    static {
+        Map<String, String> features = new LinkedHashMap<>();
+        features.put("age", "age");
+        features.put("age_squared", "age * age");
+        features.put("gp", "gp");
+        features.put("min", "min");
+        features.put("usage_proxy", "(fga + 0.44 * fta + tov) / min");
+        features.put("pts", "pts");
+        features.put("reb", "reb");
+        features.put("ast", "ast");
+        features.put("stl", "stl");
+        features.put("blk", "blk");
+        features.put("tov", "tov");
+        features.put("fg3m", "fg3m");
+        features.put("fg_pct", "fg_pct");
+        features.put("ft_pct", "ft_pct");
+        features.put("fantasy_pts", "nba_fantasy_pts");
+        features.put("fantasy_per_min", "nba_fantasy_pts / min");
+        FEATURES = Collections.unmodifiableMap(features);
+    }
+
+    private static final Expression[] COMPILED = FEATURES.values().stream()
+            .map(Expression::compile)
+            .toArray(Expression[]::new);
+
+    private final double[] means;
+    private final double[] scales;
+    private final double intercept;
+    private final double[] weights;
+
+    private final List<String> seasons;
+    private final int examples;
+    private final double lambda;
+    private final double cvRmse;
+    private final double baselineRmse;
+    private final long trainingMillis;
+    private final Instant trainedAt;
+
+    ProjectionModel(double[] means, double[] scales, double intercept, double[] weights,
+                    List<String> seasons, int examples, double lambda,
+                    double cvRmse, double baselineRmse, long trainingMillis, Instant trainedAt) {
+        this.means = means;
+        this.scales = scales;
+        this.intercept = intercept;
+        this.weights = weights;
+        this.seasons = List.copyOf(seasons);
+        this.examples = examples;
+        this.lambda = lambda;
+        this.cvRmse = cvRmse;
+        this.baselineRmse = baselineRmse;
+        this.trainingMillis = trainingMillis;
+        this.trainedAt = trainedAt;
+    }
+
+    /**
+     * Projected fantasy points per game (never negative)
+     */
+    public double project(double[] stats) {
+        double projection = intercept;
+        for (int j = 0; j < COMPILED.length; j++) {
+            double x = COMPILED[j].evaluate(stats);
+            if (Double.isFinite(x)) {
+                projection += weights[j] * (x - means[j]) / scales[j];
+            }
+        }
+        return Math.max(0, projection);
+    }
+
+    /**
+     * Raw feature values for a stats row (NaN where undefined)
+     */
+    static void features(double[] stats, double[] out) {
+        for (int j = 0; j < COMPILED.length; j++) {
+            out[j] = COMPILED[j].evaluate(stats);
+        }
+    }
+
+    static int featureCount() {
+        return COMPILED.length;
+    }
+
+    // ========================================================================
+    // TRAINING INFO
+    // ========================================================================
+
+    /**
+     * Weight per feature, on the standardized scale (comparable across features)
+     */
+    public Map<String, Double> weights() {
+        Map<String, Double> byName = new LinkedHashMap<>();
+        int j = 0;
+        for (String name : FEATURES.keySet()) {
+            byName.put(name, weights[j++]);
+        }
+        return byName;
+    }
+
+    public double intercept() {
+        return intercept;
+    }
+
+    /**
+     * Seasons the model was trained on, oldest first
+     */
+    public List<String> seasons() {
+        return seasons;
+    }
+
+    /**
+     * Number of (season, next season) player pairs trained on
+     */
+    public int examples() {
+        return examples;
+    }
+
+    public double lambda() {
+        return lambda;
+    }
+
+    /**
+     * Cross-validated root mean squared error, in fantasy points per game
+     */
+    public double cvRmse() {
+        return cvRmse;
+    }
+
+    /**
+     * Same error for the naive projection "as many as this season"
+     */
+    public double baselineRmse() {
+        return baselineRmse;
+    }
+
+    public long trainingMillis() {
+        return trainingMillis;
+    }
+
+    public Instant trainedAt() {
+        return trainedAt;
+    }
+}
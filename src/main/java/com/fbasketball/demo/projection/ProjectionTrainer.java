@@ -0,0 +1,269 @@
+package com.fbasketball.demo.projection;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.fbasketball.demo.expression.StatColumn;
+
+/**
+ * Fits a ProjectionModel on consecutive seasons of history
+ *
+ * Every player with at least MIN_GAMES games in two consecutive seasons is one
+ * example: the features of the first season against the fantasy points per game
+ * of the second. The model is a ridge regression on standardized features with
+ * an unpenalized intercept, solved from the normal equations. The penalty is
+ * picked by k-fold cross-validation, with folds assigned by player: a player's
+ * season pairs are all in the same fold, so the model is never tested on a
+ * player it has seen in training.
+ *
+ * Parallel: seasons are paired up in parallel, and X'X / X'y are accumulated per
+ * fold in parallel, so each fold's training set is (total - fold) and no row is
+ * read twice. The candidate penalties are then cross-validated in parallel.
+ */
+public final class ProjectionTrainer {
+
+    // Smaller samples are mostly noise (garbage time, 10-day contracts)
+    static final int MIN_GAMES = 10;
+    static final int MIN_EXAMPLES = 50;
+    static final int FOLDS = 5;
+    static final double[] LAMBDAS = {0.01, 0.1, 1, 10, 100, 1000};
+
+    private record Example(long playerId, double[] features, double target, double current) {}
+
+    // X'X and X'y, column 0 being the intercept
+    private record Gram(double[][] xtx, double[] xty) {
+
+        static Gram empty(int size) {
+            return new Gram(new double[size][size], new double[size]);
+        }
+
+        void add(double[] z, double y) {
+            for (int a = 0; a < z.length; a++) {
+                double za = z[a];
+                if (za == 0) {
+                    continue;
+                }
+                double[] row = xtx[a];
+                for (int b = 0; b < z.length; b++) {
+                    row[b] += za * z[b];
+                }
+                xty[a] += za * y;
+            }
+        }
+
+        Gram plus(Gram other, int sign) {
+            Gram sum = empty(xty.length);
+            for (int a = 0; a < xty.length; a++) {
+                for (int b = 0; b < xty.length; b++) {
+                    sum.xtx[a][b] = xtx[a][b] + sign * other.xtx[a][b];
+                }
+                sum.xty[a] = xty[a] + sign * other.xty[a];
+            }
+            return sum;
+        }
+    }
+
+    private ProjectionTrainer() {
+    }
+
+    /**
+     * Train on the given seasons (oldest first).
+     * Throws IllegalStateException if they hold fewer than MIN_EXAMPLES examples.
+     */
+    public static ProjectionModel train(List<SeasonHistory.Season> seasons) {
+        long start = System.nanoTime();
+
+        List<Example> examples = IntStream.range(0, Math.max(0, seasons.size() - 1))
+                .parallel()
+                .mapToObj(i -> examples(seasons.get(i), seasons.get(i + 1)))
+                .flatMap(List::stream)
+                .toList();
+        if (examples.size() < MIN_EXAMPLES) {
+            throw new IllegalStateException("Not enough history to train on: " + examples.size()
+                    + " examples from " + seasons.size() + " season(s), need " + MIN_EXAMPLES
+                    + " (players with " + MIN_GAMES + "+ games in two consecutive seasons)");
+        }
+
+        int p = ProjectionModel.featureCount();
+        double[] means = new double[p];
+        double[] scales = new double[p];
+        // Over all examples: the held-out folds leak into the scaling, not into the fit
+        standardization(examples, means, scales);
+
+        int n = examples.size();
+        double[][] z = new double[n][];
+        double[] y = new double[n];
+        int[] fold = new int[n];
+        for (int i = 0; i < n; i++) {
+            z[i] = standardized(examples.get(i).features(), means, scales);
+            y[i] = examples.get(i).target();
+            fold[i] = fold(examples.get(i).playerId());
+        }
+
+        List<Gram> folds = IntStream.range(0, FOLDS)
+                .parallel()
+                .mapToObj(k -> {
+                    Gram gram = Gram.empty(p + 1);
+                    for (int i = 0; i < n; i++) {
+                        if (fold[i] == k) {
+                            gram.add(z[i], y[i]);
+                        }
+                    }
+                    return gram;
+                })
+                .toList();
+        Gram total = folds.stream().reduce(Gram.empty(p + 1), (a, b) -> a.plus(b, 1));
+
+        double[] cvRmse = Arrays.stream(LAMBDAS)
+                .parallel()
+                .map(lambda -> crossValidate(folds, total, z, y, fold, lambda))
+                .toArray();
+        int best = 0;
+        for (int k = 1; k < LAMBDAS.length; k++) {
+            if (cvRmse[k] < cvRmse[best]) {
+                best = k;
+            }
+        }
+        double[] w = solve(total, LAMBDAS[best]);
+
+        double baselineSse = 0;
+        for (Example example : examples) {
+            double error = example.current() - example.target();
+            baselineSse += error * error;
+        }
+
+        long trainingMillis = (System.nanoTime() - start) / 1_000_000;
+        return new ProjectionModel(means, scales, w[0], Arrays.copyOfRange(w, 1, w.length),
+                seasons.stream().map(SeasonHistory.Season::name).toList(), n, LAMBDAS[best],
+                cvRmse[best], Math.sqrt(baselineSse / n), trainingMillis, Instant.now());
+    }
+
+    // ========================================================================
+    // EXAMPLES
+    // ========================================================================
+
+    private static List<Example> examples(SeasonHistory.Season season, SeasonHistory.Season next) {
+        int gp = StatColumn.GP.ordinal();
+        int fantasyPts = StatColumn.NBA_FANTASY_PTS.ordinal();
+
+        List<Example> examples = new ArrayList<>();
+        for (Map.Entry<Long, double[]> entry : season.players().entrySet()) {
+            double[] stats = entry.getValue();
+            double[] later = next.players().get(entry.getKey());
+            if (later == null || !(stats[gp] >= MIN_GAMES) || !(later[gp] >= MIN_GAMES)
+                    || !Double.isFinite(stats[fantasyPts]) || !Double.isFinite(later[fantasyPts])) {
+                continue;
+            }
+            double[] features = new double[ProjectionModel.featureCount()];
+            ProjectionModel.features(stats, features);
+            examples.add(new Example(entry.getKey(), features, later[fantasyPts], stats[fantasyPts]));
+        }
+        return examples;
+    }
+
+    // Mixed first so ids handed out in steps (or ranges) still spread evenly
+    static int fold(long playerId) {
+        long h = playerId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod((int) (h ^ (h >>> 32)), FOLDS);
+    }
+
+    private static void standardization(List<Example> examples, double[] means, double[] scales) {
+        for (int j = 0; j < means.length; j++) {
+            double sum = 0;
+            double sumSquares = 0;
+            int count = 0;
+            for (Example example : examples) {
+                double x = example.features()[j];
+                if (Double.isFinite(x)) {
+                    sum += x;
+                    sumSquares += x * x;
+                    count++;
+                }
+            }
+            double mean = count == 0 ? 0 : sum / count;
+            double variance = count == 0 ? 0 : sumSquares / count - mean * mean;
+            means[j] = mean;
+            scales[j] = variance > 1e-12 ? Math.sqrt(variance) : 1;
+        }
+    }
+
+    // Intercept column first; undefined features sit at the mean (0)
+    private static double[] standardized(double[] features, double[] means, double[] scales) {
+        double[] z = new double[features.length + 1];
+        z[0] = 1;
+        for (int j = 0; j < features.length; j++) {
+            double x = features[j];
+            z[j + 1] = Double.isFinite(x) ? (x - means[j]) / scales[j] : 0;
+        }
+        return z;
+    }
+
+    // ========================================================================
+    // FITTING
+    // ========================================================================
+
+    private static double crossValidate(List<Gram> folds, Gram total, double[][] z, double[] y, int[] fold,
+                                        double lambda) {
+        double[][] w = new double[folds.size()][];
+        for (int k = 0; k < folds.size(); k++) {
+            w[k] = solve(total.plus(folds.get(k), -1), lambda);
+        }
+        double sse = 0;
+        for (int i = 0; i < z.length; i++) {
+            double error = Math.max(0, dot(w[fold[i]], z[i])) - y[i];
+            sse += error * error;
+        }
+        return Math.sqrt(sse / z.length);
+    }
+
+    // (X'X + lambda * I) w = X'y by Cholesky, the intercept is not penalized
+    private static double[] solve(Gram gram, double lambda) {
+        int size = gram.xty().length;
+        double[][] l = new double[size][size];
+        for (int a = 0; a < size; a++) {
+            for (int b = 0; b <= a; b++) {
+                double sum = gram.xtx()[a][b] + (a == b && a > 0 ? lambda : 0);
+                for (int k = 0; k < b; k++) {
+                    sum -= l[a][k] * l[b][k];
+                }
+                if (a == b) {
+                    if (sum <= 0) {
+                        throw new IllegalStateException("Normal equations are not positive definite");
+                    }
+                    l[a][a] = Math.sqrt(sum);
+                } else {
+                    l[a][b] = sum / l[b][b];
+                }
+            }
+        }
+        double[] v = new double[size];
+        for (int a = 0; a < size; a++) {
+            double sum = gram.xty()[a];
+            for (int k = 0; k < a; k++) {
+                sum -= l[a][k] * v[k];
+            }
+            v[a] = sum / l[a][a];
+        }
+        double[] w = new double[size];
+        for (int a = size - 1; a >= 0; a--) {
+            double sum = v[a];
+            for (int k = a + 1; k < size; k++) {
+                sum -= l[k][a] * w[k];
+            }
+            w[a] = sum / l[a][a];
+        }
+        return w;
+    }
+
+    private static double dot(double[] w, double[] z) {
+        double sum = 0;
+        for (int j = 0; j < w.length; j++) {
+            sum += w[j] * z[j];
+        }
+        return sum;
+    }
+}
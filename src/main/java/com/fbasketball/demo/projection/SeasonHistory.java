@@ -0,0 +1,159 @@
+package com.fbasketball.demo.projection;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.fbasketball.demo.expression.StatColumn;
+
+/**
+ * Past seasons of per-game averages, the training data for projections
+ *
+ * One CSV file per season in a directory, named so that they sort in season
+ * order (e.g. 2023-24.csv, 2024-25.csv), with the columns the scraper writes:
+ * player_id plus the lowercase stat column names (pts, fg3_pct, nba_fantasy_pts, ...).
+ * Unknown columns are ignored, missing or empty values are NaN. Each player's
+ * stats are a row in the StatColumn layout, like PlayerRow.stats().
+ */
+public final class SeasonHistory {
+
+    /**
+     * One season: stats row per player id
+     */
+    public record Season(String name, Map<Long, double[]> players) {}
+
+    private SeasonHistory() {
+    }
+
+    /**
+     * All seasons in the directory, oldest first (empty if it doesn't exist).
+     * Files are parsed in parallel.
+     */
+    public static List<Season> load(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> file.getFileName().toString().endsWith(".csv"))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .toList();
+        }
+        try {
+            return files.parallelStream()
+                    .map(file -> {
+                        String name = file.getFileName().toString();
+                        try (BufferedReader reader = Files.newBufferedReader(file)) {
+                            return parse(name.substring(0, name.length() - ".csv".length()), reader);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse one season's CSV (header line first)
+     */
+    public static Season parse(String name, BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return new Season(name, Map.of());
+        }
+        List<String> columns = split(header);
+        int idIndex = -1;
+        StatColumn[] statAt = new StatColumn[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).trim();
+            if (column.equalsIgnoreCase("player_id")) {
+                idIndex = i;
+            } else {
+                statAt[i] = StatColumn.byName(column);
+            }
+        }
+        if (idIndex < 0) {
+            throw new IOException("Season " + name + " has no player_id column");
+        }
+
+        Map<Long, double[]> players = new HashMap<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = split(line);
+            if (values.size() <= idIndex) {
+                throw new IOException("Season " + name + ", line " + lineNumber + ": missing player_id");
+            }
+            double[] stats = new double[StatColumn.values().length];
+            Arrays.fill(stats, Double.NaN);
+            for (int i = 0; i < values.size() && i < statAt.length; i++) {
+                if (statAt[i] != null) {
+                    stats[statAt[i].ordinal()] = number(values.get(i));
+                }
+            }
+            try {
+                players.put(Long.parseLong(values.get(idIndex).trim()), stats);
+            } catch (NumberFormatException e) {
+                throw new IOException("Season " + name + ", line " + lineNumber + ": bad player_id", e);
+            }
+        }
+        return new Season(name, Collections.unmodifiableMap(players));
+    }
+
+    private static double number(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(trimmed);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // Comma-separated fields, "quoted" fields may contain commas and "" escapes
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,20 @@
+package com.fbasketball.demo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.fbasketball.demo.model.FantasyTeam;
+
+/**
+ * Repository interface for FantasyTeam entity
+ */
+@Repository
+public interface FantasyTeamRepository extends JpaRepository<FantasyTeam, Long> {
+
+    /**
+     * All teams of a league, in creation order
+     */
+    List<FantasyTeam> findByLeagueIdOrderByTeamIdAsc(Long leagueId);
+}
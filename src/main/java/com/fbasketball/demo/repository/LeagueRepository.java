@@ -0,0 +1,28 @@
+package com.fbasketball.demo.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fbasketball.demo.model.League;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for League entity
+ */
+@Repository
+public interface LeagueRepository extends JpaRepository<League, Long> {
+
+    /**
+     * League row locked until the transaction ends (SELECT ... FOR UPDATE)
+     * Roster moves take it so moves within one league run one at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM League l WHERE l.leagueId = :leagueId")
+    Optional<League> findByIdForUpdate(@Param("leagueId") Long leagueId);
+}
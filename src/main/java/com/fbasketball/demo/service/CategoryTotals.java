@@ -0,0 +1,103 @@
+package com.fbasketball.demo.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.fbasketball.demo.model.Category;
+import com.fbasketball.demo.model.Player;
+
+/**
+ * Running per-game category sums for one roster
+ * Updated incrementally (add/remove one player) instead of re-summing the roster.
+ * Percentages are kept as made/attempted sums so they stay exact under updates.
+ */
+final class CategoryTotals {
+
+    private double fgm;
+    private double fga;
+    private double ftm;
+    private double fta;
+    private double fg3m;
+    private double pts;
+    private double reb;
+    private double ast;
+    private double stl;
+    private double blk;
+    private double tov;
+
+    void add(Player player) {
+        apply(player, 1);
+    }
+
+    void remove(Player player) {
+        apply(player, -1);
+    }
+
+    private void apply(Player player, int sign) {
+        fgm += sign * stat(player.getFgm());
+        fga += sign * stat(player.getFga());
+        ftm += sign * stat(player.getFtm());
+        fta += sign * stat(player.getFta());
+        fg3m += sign * stat(player.getFg3m());
+        pts += sign * stat(player.getPts());
+        reb += sign * stat(player.getReb());
+        ast += sign * stat(player.getAst());
+        stl += sign * stat(player.getStl());
+        blk += sign * stat(player.getBlk());
+        tov += sign * stat(player.getTov());
+    }
+
+    double value(Category category) {
+        return switch (category) {
+            case FG_PCT -> fga > 0 ? fgm / fga : 0;
+            case FT_PCT -> fta > 0 ? ftm / fta : 0;
+            case FG3M -> fg3m;
+            case PTS -> pts;
+            case REB -> reb;
+            case AST -> ast;
+            case STL -> stl;
+            case BLK -> blk;
+            case TOV -> tov;
+        };
+    }
+
+    /**
+     * Category values indexed by Category.ordinal()
+     */
+    double[] values() {
+        Category[] categories = Category.values();
+        double[] values = new double[categories.length];
+        for (Category category : categories) {
+            values[category.ordinal()] = value(category);
+        }
+        return values;
+    }
+
+    Map<Category, Double> toMap() {
+        Map<Category, Double> map = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            map.put(category, value(category));
+        }
+        return map;
+    }
+
+    CategoryTotals copy() {
+        CategoryTotals copy = new CategoryTotals();
+        copy.fgm = fgm;
+        copy.fga = fga;
+        copy.ftm = ftm;
+        copy.fta = fta;
+        copy.fg3m = fg3m;
+        copy.pts = pts;
+        copy.reb = reb;
+        copy.ast = ast;
+        copy.stl = stl;
+        copy.blk = blk;
+        copy.tov = tov;
+        return copy;
+    }
+
+    private static double stat(Double value) {
+        return value == null ? 0 : value;
+    }
+}
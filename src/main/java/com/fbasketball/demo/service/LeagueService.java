@@ -0,0 +1,424 @@
+package com.fbasketball.demo.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fbasketball.demo.model.Category;
+import com.fbasketball.demo.model.FantasyTeam;
+import com.fbasketball.demo.model.League;
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.model.TeamStanding;
+import com.fbasketball.demo.model.TradeEvaluation;
+import com.fbasketball.demo.model.TradeProposal;
+import com.fbasketball.demo.repository.FantasyTeamRepository;
+import com.fbasketball.demo.repository.LeagueRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Leagues, rosters, category standings and trade analysis
+ *
+ * Category totals per team are cached per league (LeagueTotals) and updated
+ * incrementally on roster moves. Standings use rotisserie scoring: in each
+ * category a team gets one point per team it beats and half a point per tie.
+ */
+@Service
+public class LeagueService {
+
+    public static final int MAX_ROSTER_SIZE = 15;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private FantasyTeamRepository teamRepository;
+
+    @Autowired
+    private LeagueSnapshotHolder snapshots;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate primary;
+
+    // Only changed under the league's lock, so a rebuild and a roster move never interleave
+    private final Map<Long, LeagueTotals> totalsByLeague = new ConcurrentHashMap<>();
+    // One monitor per existing league; a rebuild holds it while it reads the rosters
+    private final Map<Long, Object> leagueLocks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        // Read-write so it routes to the primary: a lagging replica would miss committed roster moves
+        primary = new TransactionTemplate(transactionManager);
+    }
+
+    // ========================================================================
+    // LEAGUES & TEAMS
+    // ========================================================================
+
+    @Transactional
+    public League createLeague(String name) {
+        return leagueRepository.save(new League(name));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<League> getLeague(Long leagueId) {
+        return leagueRepository.findById(leagueId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FantasyTeam> getTeams(Long leagueId) {
+        return teamRepository.findByLeagueIdOrderByTeamIdAsc(leagueId);
+    }
+
+    @Transactional
+    public FantasyTeam createTeam(Long leagueId, String name) {
+        FantasyTeam team = teamRepository.save(new FantasyTeam(leagueId, name));
+        afterCommit(() -> {
+            synchronized (lockFor(leagueId)) {
+                totalsByLeague.remove(leagueId);
+            }
+        });
+        return team;
+    }
+
+    // ========================================================================
+    // ROSTER MOVES
+    // ========================================================================
+
+    /**
+     * Add a player to a team's roster
+     * Throws IllegalArgumentException for unknown players or full rosters,
+     * IllegalStateException if the player is already rostered in this league.
+     * Holds the league lock, so the roster size and duplicate checks still hold at commit.
+     */
+    @Transactional
+    public Optional<FantasyTeam> addPlayer(Long leagueId, Long teamId, Long playerId) {
+        Optional<FantasyTeam> found = lockLeague(leagueId) ? findTeam(leagueId, teamId) : Optional.empty();
+        if (found.isEmpty()) {
+            return found;
+        }
+        FantasyTeam team = found.get();
+
+        if (snapshots.pinned().getOrNull(playerId) == null) {
+            throw new IllegalArgumentException("Player not found with id: " + playerId);
+        }
+        if (team.getPlayerIds().size() >= MAX_ROSTER_SIZE) {
+            throw new IllegalArgumentException("Roster is full (" + MAX_ROSTER_SIZE + " players)");
+        }
+        for (FantasyTeam other : teamRepository.findByLeagueIdOrderByTeamIdAsc(leagueId)) {
+            if (other.getPlayerIds().contains(playerId)) {
+                throw new IllegalStateException("Player " + playerId + " is already on " + other.getName());
+            }
+        }
+
+        team.getPlayerIds().add(playerId);
+        FantasyTeam saved = teamRepository.save(team);
+        afterCommit(() -> {
+            synchronized (lockFor(leagueId)) {
+                LeagueTotals totals = totalsByLeague.get(leagueId);
+                if (totals != null) {
+                    totals.addPlayer(teamId, playerId);
+                }
+            }
+        });
+        return Optional.of(saved);
+    }
+
+    /**
+     * Drop a player from a team's roster
+     */
+    @Transactional
+    public Optional<FantasyTeam> dropPlayer(Long leagueId, Long teamId, Long playerId) {
+        Optional<FantasyTeam> found = lockLeague(leagueId) ? findTeam(leagueId, teamId) : Optional.empty();
+        if (found.isEmpty() || !found.get().getPlayerIds().remove(playerId)) {
+            return Optional.empty();
+        }
+
+        FantasyTeam saved = teamRepository.save(found.get());
+        afterCommit(() -> {
+            synchronized (lockFor(leagueId)) {
+                LeagueTotals totals = totalsByLeague.get(leagueId);
+                if (totals != null) {
+                    totals.removePlayer(teamId, playerId);
+                }
+            }
+        });
+        return Optional.of(saved);
+    }
+
+    // Rosters are read after this, so they include every move committed before it
+    private boolean lockLeague(Long leagueId) {
+        return leagueRepository.findByIdForUpdate(leagueId).isPresent();
+    }
+
+    private Optional<FantasyTeam> findTeam(Long leagueId, Long teamId) {
+        return teamRepository.findById(teamId)
+                .filter(team -> team.getLeagueId().equals(leagueId));
+    }
+
+    private Object lockFor(Long leagueId) {
+        return leagueLocks.computeIfAbsent(leagueId, id -> new Object());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ========================================================================
+    // STANDINGS
+    // ========================================================================
+
+    // No surrounding transaction: a rebuild reads the rosters in its own, on the primary
+    public List<TeamStanding> getStandings(Long leagueId) {
+        LeagueTotals.View league = totals(leagueId).view();
+        double[][] values = league.values();
+
+        List<TeamStanding> standings = new ArrayList<>();
+        for (int team = 0; team < values.length; team++) {
+            Map<Category, Double> points = new EnumMap<>(Category.class);
+            double total = 0;
+            for (Category category : Category.values()) {
+                double categoryPoints = categoryPoints(values, team, category);
+                points.put(category, categoryPoints);
+                total += categoryPoints;
+            }
+            standings.add(new TeamStanding(league.teamIds().get(team), league.names()[team],
+                    league.rosters().get(team).size(), league.totals()[team].toMap(), points, total));
+        }
+        standings.sort(Comparator.comparingDouble(TeamStanding::totalPoints).reversed());
+        return standings;
+    }
+
+    /**
+     * Totals for the league at the current snapshot version (or a newer one), rebuilt if stats changed.
+     * The rebuild reads the rosters under the league's lock, which roster moves take to apply
+     * themselves, so a move committed meanwhile is either read by the rebuild or applied to it
+     * afterwards, never lost. Other leagues don't wait for it. Unknown leagues are not cached.
+     */
+    private LeagueTotals totals(Long leagueId) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        LeagueTotals cached = totalsByLeague.get(leagueId);
+        if (cached != null && cached.snapshotVersion() >= snapshot.version()) {
+            return cached;
+        }
+        if (cached == null && !Boolean.TRUE.equals(primary.execute(status -> leagueRepository.existsById(leagueId)))) {
+            return LeagueTotals.build(List.of(), snapshot);
+        }
+        synchronized (lockFor(leagueId)) {
+            cached = totalsByLeague.get(leagueId);
+            if (cached != null && cached.snapshotVersion() >= snapshot.version()) {
+                return cached;
+            }
+            LeagueTotals rebuilt = primary.execute(status ->
+                    LeagueTotals.build(teamRepository.findByLeagueIdOrderByTeamIdAsc(leagueId), snapshot));
+            totalsByLeague.put(leagueId, rebuilt);
+            return rebuilt;
+        }
+    }
+
+    // ========================================================================
+    // TRADES
+    // ========================================================================
+
+    /**
+     * Standings impact of one trade proposal
+     * Throws IllegalArgumentException if a team or player is not part of the league/roster,
+     * or a player id is null or listed twice.
+     */
+    public TradeEvaluation evaluateTrade(Long leagueId, TradeProposal proposal) {
+        requireDistinctIds(proposal.teamAGives());
+        requireDistinctIds(proposal.teamBGives());
+        LeagueTotals.View league = totals(leagueId).view();
+        int a = league.indexOf(proposal.teamAId());
+        int b = league.indexOf(proposal.teamBId());
+        if (a < 0 || b < 0 || a == b) {
+            throw new IllegalArgumentException("Trade needs two different teams of league " + leagueId);
+        }
+        if (!league.rosters().get(a).containsAll(proposal.teamAGives())
+                || !league.rosters().get(b).containsAll(proposal.teamBGives())) {
+            throw new IllegalArgumentException("Traded players must be on the giving team's roster");
+        }
+
+        return evaluate(league, league.values(), a, b,
+                players(league.snapshot(), proposal.teamAGives()),
+                players(league.snapshot(), proposal.teamBGives()),
+                proposal.teamAGives(), proposal.teamBGives());
+    }
+
+    // containsAll would accept [x, x] and the player's stats would move twice
+    private static void requireDistinctIds(List<Long> playerIds) {
+        Set<Long> seen = new HashSet<>();
+        for (Long playerId : playerIds) {
+            if (playerId == null) {
+                throw new IllegalArgumentException("Traded player ids must not be null");
+            }
+            if (!seen.add(playerId)) {
+                throw new IllegalArgumentException("Player " + playerId + " is listed twice in the trade");
+            }
+        }
+    }
+
+    /**
+     * Best 1-for-1 swaps for a team across every other roster in the league.
+     * Only trades that improve the team and don't cost the partner standings points
+     * are returned, best first. Candidates are scored in parallel.
+     */
+    public Optional<List<TradeEvaluation>> suggestTrades(Long leagueId, Long teamId, int limit) {
+        LeagueTotals.View league = totals(leagueId).view();
+        int me = league.indexOf(teamId);
+        if (me < 0) {
+            return Optional.empty();
+        }
+        double[][] values = league.values();
+        double[] pointsBefore = new double[values.length];
+        for (int team = 0; team < values.length; team++) {
+            pointsBefore[team] = rotoPoints(values, team);
+        }
+
+        record Candidate(int partner, Long give, Long get, double myGain) {}
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int partner = 0; partner < values.length; partner++) {
+            if (partner == me) {
+                continue;
+            }
+            for (Long give : league.rosters().get(me)) {
+                for (Long get : league.rosters().get(partner)) {
+                    candidates.add(new Candidate(partner, give, get, 0));
+                }
+            }
+        }
+
+        List<Candidate> best = candidates.parallelStream()
+                .map(candidate -> {
+                    Player give = league.snapshot().getOrNull(candidate.give());
+                    Player get = league.snapshot().getOrNull(candidate.get());
+                    if (give == null || get == null) {
+                        return null;
+                    }
+                    int partner = candidate.partner();
+                    double[][] after = swap(league, values, me, partner, List.of(give), List.of(get));
+                    double myGain = rotoPoints(after, me) - pointsBefore[me];
+                    double partnerGain = rotoPoints(after, partner) - pointsBefore[partner];
+                    return myGain > 0 && partnerGain >= 0
+                            ? new Candidate(partner, candidate.give(), candidate.get(), myGain)
+                            : null;
+                })
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(Candidate::myGain).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+
+        List<TradeEvaluation> suggestions = new ArrayList<>(best.size());
+        for (Candidate candidate : best) {
+            suggestions.add(evaluate(league, values, me, candidate.partner(),
+                    List.of(league.snapshot().getOrNull(candidate.give())),
+                    List.of(league.snapshot().getOrNull(candidate.get())),
+                    List.of(candidate.give()), List.of(candidate.get())));
+        }
+        return Optional.of(suggestions);
+    }
+
+    private static TradeEvaluation evaluate(LeagueTotals.View league, double[][] values, int a, int b,
+                                            List<Player> aGives, List<Player> bGives,
+                                            List<Long> aGiveIds, List<Long> bGiveIds) {
+        double[][] after = swap(league, values, a, b, aGives, bGives);
+        return new TradeEvaluation(
+                league.teamIds().get(a), league.teamIds().get(b), aGiveIds, bGiveIds,
+                rotoPoints(values, a), rotoPoints(after, a),
+                rotoPoints(values, b), rotoPoints(after, b),
+                change(values[a], after[a]), change(values[b], after[b]));
+    }
+
+    /**
+     * Category values after the trade; only rows a and b are new, the rest are shared
+     */
+    private static double[][] swap(LeagueTotals.View league, double[][] values, int a, int b,
+                                   List<Player> aGives, List<Player> bGives) {
+        CategoryTotals aAfter = league.totals()[a].copy();
+        CategoryTotals bAfter = league.totals()[b].copy();
+        for (Player player : aGives) {
+            aAfter.remove(player);
+            bAfter.add(player);
+        }
+        for (Player player : bGives) {
+            bAfter.remove(player);
+            aAfter.add(player);
+        }
+        double[][] after = values.clone();
+        after[a] = aAfter.values();
+        after[b] = bAfter.values();
+        return after;
+    }
+
+    private static double rotoPoints(double[][] values, int team) {
+        double points = 0;
+        for (Category category : Category.values()) {
+            points += categoryPoints(values, team, category);
+        }
+        return points;
+    }
+
+    // 1 point per team beaten, 0.5 per tie, plus 1 so last place still scores
+    private static double categoryPoints(double[][] values, int team, Category category) {
+        int c = category.ordinal();
+        double mine = values[team][c];
+        double points = 1;
+        for (int other = 0; other < values.length; other++) {
+            if (other == team) {
+                continue;
+            }
+            int cmp = Double.compare(mine, values[other][c]);
+            if (category.lowerIsBetter()) {
+                cmp = -cmp;
+            }
+            points += cmp > 0 ? 1 : cmp == 0 ? 0.5 : 0;
+        }
+        return points;
+    }
+
+    private static Map<Category, Double> change(double[] before, double[] after) {
+        Map<Category, Double> change = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            change.put(category, after[category.ordinal()] - before[category.ordinal()]);
+        }
+        return change;
+    }
+
+    private static List<Player> players(LeagueSnapshot snapshot, List<Long> playerIds) {
+        List<Player> players = new ArrayList<>(playerIds.size());
+        for (Long playerId : playerIds) {
+            Player player = snapshot.getOrNull(playerId);
+            if (player != null) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+}
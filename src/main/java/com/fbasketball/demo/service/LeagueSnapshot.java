@@ -0,0 +1,208 @@
+package com.fbasketball.demo.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.model.PlayerRow;
+import com.fbasketball.demo.model.PlayerRows;
+
+/**
+ * Immutable view of the whole league at one point in time
+ *
+ * Built off to the side by ingest and published with a single reference swap
+ * (see LeagueSnapshotHolder), so a reader holding one snapshot always sees every
+ * player from the same version. Holds detached copies of the entities, which must
+ * not be modified, and a PlayerRow per player for responses. Rows of players a
+ * new version didn't change are carried over, so an upsert only encodes the
+ * changed players.
+ */
+public final class LeagueSnapshot {
+
+    private final long version;
+    private final List<Player> players;
+    private final Map<Long, Player> byId;
+    private final Map<String, List<Player>> byTeam;
+    private final String[] lowerCaseNames;
+    private final List<Player> byFantasyPts;
+    private final List<Player> byPts;
+    private final List<Player> byFgPct;
+    private final List<PlayerRow> rows;
+    private final Map<Long, PlayerRow> rowById;
+    private final PlayerRows allRows;
+
+    private LeagueSnapshot(long version, List<Player> players, LeagueSnapshot previous) {
+        this.version = version;
+        this.players = Collections.unmodifiableList(players);
+
+        Map<Long, Player> ids = new HashMap<>(players.size() * 2);
+        Map<String, List<Player>> teams = new HashMap<>();
+        this.lowerCaseNames = new String[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            ids.put(player.getPlayerId(), player);
+            teams.computeIfAbsent(player.getTeamAbbreviation(), team -> new ArrayList<>()).add(player);
+            lowerCaseNames[i] = player.getPlayerName() == null ? "" : player.getPlayerName().toLowerCase(Locale.ROOT);
+        }
+        teams.replaceAll((team, roster) -> Collections.unmodifiableList(roster));
+        this.byId = Collections.unmodifiableMap(ids);
+        this.byTeam = Collections.unmodifiableMap(teams);
+
+        this.byFantasyPts = sortedDesc(players, Player::getNbaFantasyPts);
+        this.byPts = sortedDesc(players, Player::getPts);
+        this.byFgPct = sortedDesc(players, Player::getFgPct);
+
+        List<PlayerRow> built = new ArrayList<>(players.size());
+        Map<Long, PlayerRow> rowIds = new HashMap<>(players.size() * 2);
+        for (Player player : players) {
+            PlayerRow row = previous != null && previous.byId.get(player.getPlayerId()) == player
+                    ? previous.rowById.get(player.getPlayerId())
+                    : PlayerRow.of(player);
+            built.add(row);
+            rowIds.put(player.getPlayerId(), row);
+        }
+        this.rows = Collections.unmodifiableList(built);
+        this.rowById = Collections.unmodifiableMap(rowIds);
+        this.allRows = new PlayerRows(rows);
+    }
+
+    /**
+     * Snapshot of the given players (copied, so later changes to the entities don't leak in)
+     */
+    public static LeagueSnapshot of(long version, Collection<Player> players) {
+        List<Player> copies = new ArrayList<>(players.size());
+        for (Player player : players) {
+            copies.add(new Player(player));
+        }
+        return new LeagueSnapshot(version, copies, null);
+    }
+
+    /**
+     * Next snapshot with the given players added or replaced
+     */
+    public LeagueSnapshot withUpserted(long newVersion, Collection<Player> changed) {
+        Map<Long, Player> next = new LinkedHashMap<>(players.size() * 2);
+        for (Player player : players) {
+            next.put(player.getPlayerId(), player);
+        }
+        for (Player player : changed) {
+            next.put(player.getPlayerId(), new Player(player));
+        }
+        return new LeagueSnapshot(newVersion, new ArrayList<>(next.values()), this);
+    }
+
+    /**
+     * Next snapshot without the given player
+     */
+    public LeagueSnapshot without(long newVersion, Long playerId) {
+        List<Player> next = new ArrayList<>(players.size());
+        for (Player player : players) {
+            if (!player.getPlayerId().equals(playerId)) {
+                next.add(player);
+            }
+        }
+        return new LeagueSnapshot(newVersion, next, this);
+    }
+
+    // ========================================================================
+    // QUERIES
+    // ========================================================================
+
+    public long version() {
+        return version;
+    }
+
+    public List<Player> players() {
+        return players;
+    }
+
+    /**
+     * Rows in players() order
+     */
+    public List<PlayerRow> rows() {
+        return rows;
+    }
+
+    /**
+     * Row by player id, or null
+     */
+    public PlayerRow rowOrNull(Long playerId) {
+        return rowById.get(playerId);
+    }
+
+    /**
+     * Response rows for players of this snapshot (in the given order)
+     */
+    public PlayerRows rowsOf(List<Player> selected) {
+        if (selected == players) {
+            return allRows;
+        }
+        List<PlayerRow> result = new ArrayList<>(selected.size());
+        for (Player player : selected) {
+            result.add(rowById.get(player.getPlayerId()));
+        }
+        return new PlayerRows(result);
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    public Optional<Player> get(Long playerId) {
+        return Optional.ofNullable(byId.get(playerId));
+    }
+
+    /**
+     * Player by id, or null
+     */
+    public Player getOrNull(Long playerId) {
+        return byId.get(playerId);
+    }
+
+    // Case-insensitive partial match on the name
+    public List<Player> searchByName(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        List<Player> matches = new ArrayList<>();
+        for (int i = 0; i < lowerCaseNames.length; i++) {
+            if (lowerCaseNames[i].contains(needle)) {
+                matches.add(players.get(i));
+            }
+        }
+        return matches;
+    }
+
+    public List<Player> team(String teamAbbreviation) {
+        return byTeam.getOrDefault(teamAbbreviation, List.of());
+    }
+
+    public List<Player> topFantasy(int limit) {
+        return head(byFantasyPts, limit);
+    }
+
+    public List<Player> topScorers(int limit) {
+        return head(byPts, limit);
+    }
+
+    public List<Player> topFgPct(int limit) {
+        return head(byFgPct, limit);
+    }
+
+    private static List<Player> head(List<Player> sorted, int limit) {
+        return sorted.subList(0, Math.max(0, Math.min(limit, sorted.size())));
+    }
+
+    private static List<Player> sortedDesc(List<Player> players, Function<Player, Double> stat) {
+        List<Player> sorted = new ArrayList<>(players);
+        sorted.sort(Comparator.comparing(stat, Comparator.nullsLast(Comparator.reverseOrder())));
+        return Collections.unmodifiableList(sorted);
+    }
+}
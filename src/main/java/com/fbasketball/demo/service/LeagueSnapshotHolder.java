@@ -0,0 +1,208 @@
+package com.fbasketball.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.repository.PlayerRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Publishes LeagueSnapshots to readers
+ *
+ * Readers never lock: they read one volatile reference. Writers build the next
+ * snapshot off to the side and swap it in after their transaction commits.
+ * Old snapshots are garbage collected once no request holds them any more.
+ *
+ * Writers hold one lock from just before their commit until they have published,
+ * so changes are published in commit order: two writers on the same player can't
+ * commit A then B and publish B then A.
+ */
+@Component
+public class LeagueSnapshotHolder {
+
+    private static final Logger log = LoggerFactory.getLogger(LeagueSnapshotHolder.class);
+
+    // Request attribute holding the snapshot a request pinned on its first read
+    static final String PINNED_ATTRIBUTE = LeagueSnapshotHolder.class.getName() + ".PINNED";
+
+    private final Supplier<List<Player>> loader;
+    // Shared (transaction-bound) EntityManager, null outside JPA
+    private final EntityManager entityManager;
+    // Held by a writer from before its commit until after its publish
+    private final ReentrantLock commitLock = new ReentrantLock();
+
+    private volatile LeagueSnapshot current;
+    private final AtomicLong versions = new AtomicLong();
+    // Serializes full reloads so versions stay increasing
+    private final Object reloadLock = new Object();
+
+    // Changes published while a reload is in flight, replayed on top of it (guarded by this)
+    private List<UnaryOperator<LeagueSnapshot>> publishedDuringReload;
+
+    @Autowired
+    public LeagueSnapshotHolder(PlayerRepository playerRepository, PlatformTransactionManager transactionManager,
+                                EntityManager entityManager) {
+        // Read-write so it routes to the primary: a lagging replica would roll readers back
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        this.loader = () -> primary.execute(status -> playerRepository.findAll());
+        this.entityManager = entityManager;
+    }
+
+    LeagueSnapshotHolder(Supplier<List<Player>> loader) {
+        this.loader = loader;
+        this.entityManager = null;
+    }
+
+    // ========================================================================
+    // READ SIDE
+    // ========================================================================
+
+    /**
+     * Latest published snapshot (loaded from the database on first use)
+     */
+    public LeagueSnapshot current() {
+        LeagueSnapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // One thread loads, concurrent first readers wait for it
+        synchronized (reloadLock) {
+            snapshot = current;
+            return snapshot != null ? snapshot : reload();
+        }
+    }
+
+    /**
+     * Snapshot pinned to the current HTTP request: the first call in a request
+     * takes the latest one, later calls in the same request get the same one.
+     * Outside a request this is just current().
+     */
+    public LeagueSnapshot pinned() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return current();
+        }
+        LeagueSnapshot snapshot = (LeagueSnapshot) request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (snapshot == null) {
+            snapshot = current();
+            request.setAttribute(PINNED_ATTRIBUTE, snapshot, RequestAttributes.SCOPE_REQUEST);
+        }
+        return snapshot;
+    }
+
+    // ========================================================================
+    // WRITE SIDE
+    // ========================================================================
+
+    /**
+     * Apply a change to the snapshot once the surrounding transaction commits
+     * (immediately if there is none). Rolled back writes are never published.
+     */
+    public void publishAfterCommit(UnaryOperator<LeagueSnapshot> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Take the row locks first: while holding commitLock a writer only
+                    // commits and publishes, it never waits for another transaction
+                    if (entityManager != null) {
+                        entityManager.flush();
+                    }
+                    commitLock.lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    publish(change);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (locked) {
+                        commitLock.unlock();
+                    }
+                }
+            });
+        } else {
+            publish(change);
+        }
+    }
+
+    public void publishUpserted(List<Player> players) {
+        publishAfterCommit(snapshot -> snapshot.withUpserted(nextVersion(), players));
+    }
+
+    public void publishDeleted(Long playerId) {
+        publishAfterCommit(snapshot -> snapshot.without(nextVersion(), playerId));
+    }
+
+    synchronized void publish(UnaryOperator<LeagueSnapshot> change) {
+        if (publishedDuringReload != null) {
+            publishedDuringReload.add(change);
+        }
+        // Not loaded yet: the first read will load the committed state anyway
+        if (current != null) {
+            current = change.apply(current);
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in.
+     * Picks up writes that bypass the API (e.g. the scraper upserting straight into the table).
+     */
+    public LeagueSnapshot reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                publishedDuringReload = new ArrayList<>();
+            }
+            try {
+                // Loaded without holding the publish lock, readers and writers carry on meanwhile
+                LeagueSnapshot next = LeagueSnapshot.of(nextVersion(), loader.get());
+                synchronized (this) {
+                    // Writes published while we were loading may be missing from what we read
+                    for (UnaryOperator<LeagueSnapshot> change : publishedDuringReload) {
+                        next = change.apply(next);
+                    }
+                    current = next;
+                }
+                log.debug("Published league snapshot v{} ({} players)", next.version(), next.size());
+                return next;
+            } finally {
+                synchronized (this) {
+                    publishedDuringReload = null;
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot.refresh-interval-ms:600000}",
+               initialDelayString = "${app.snapshot.refresh-interval-ms:600000}")
+    void scheduledReload() {
+        reload();
+    }
+
+    private long nextVersion() {
+        return versions.incrementAndGet();
+    }
+}
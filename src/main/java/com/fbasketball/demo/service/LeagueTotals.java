@@ -0,0 +1,106 @@
+package com.fbasketball.demo.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fbasketball.demo.model.FantasyTeam;
+import com.fbasketball.demo.model.Player;
+
+/**
+ * Cached category totals of every team in one league, computed against one
+ * LeagueSnapshot version. Roster moves update it in place; a new snapshot
+ * version (changed stats) means it is rebuilt.
+ */
+final class LeagueTotals {
+
+    private final LeagueSnapshot snapshot;
+    private final List<Long> teamIds = new ArrayList<>();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, Set<Long>> rosters = new HashMap<>();
+    private final Map<Long, CategoryTotals> totals = new HashMap<>();
+
+    private LeagueTotals(LeagueSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    static LeagueTotals build(List<FantasyTeam> teams, LeagueSnapshot snapshot) {
+        LeagueTotals league = new LeagueTotals(snapshot);
+        for (FantasyTeam team : teams) {
+            CategoryTotals teamTotals = new CategoryTotals();
+            for (Long playerId : team.getPlayerIds()) {
+                Player player = snapshot.getOrNull(playerId);
+                if (player != null) {
+                    teamTotals.add(player);
+                }
+            }
+            league.teamIds.add(team.getTeamId());
+            league.names.put(team.getTeamId(), team.getName());
+            league.rosters.put(team.getTeamId(), new LinkedHashSet<>(team.getPlayerIds()));
+            league.totals.put(team.getTeamId(), teamTotals);
+        }
+        return league;
+    }
+
+    long snapshotVersion() {
+        return snapshot.version();
+    }
+
+    // Both moves are idempotent, so replaying a move that a rebuild already saw is harmless
+
+    synchronized void addPlayer(Long teamId, Long playerId) {
+        Set<Long> roster = rosters.get(teamId);
+        if (roster != null && roster.add(playerId)) {
+            Player player = snapshot.getOrNull(playerId);
+            if (player != null) {
+                totals.get(teamId).add(player);
+            }
+        }
+    }
+
+    synchronized void removePlayer(Long teamId, Long playerId) {
+        Set<Long> roster = rosters.get(teamId);
+        if (roster != null && roster.remove(playerId)) {
+            Player player = snapshot.getOrNull(playerId);
+            if (player != null) {
+                totals.get(teamId).remove(player);
+            }
+        }
+    }
+
+    /**
+     * Consistent copy for evaluation, safe to use without the lock
+     */
+    synchronized View view() {
+        int size = teamIds.size();
+        CategoryTotals[] teamTotals = new CategoryTotals[size];
+        String[] teamNames = new String[size];
+        List<List<Long>> teamRosters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Long teamId = teamIds.get(i);
+            teamTotals[i] = totals.get(teamId).copy();
+            teamNames[i] = names.get(teamId);
+            teamRosters.add(List.copyOf(rosters.get(teamId)));
+        }
+        return new View(snapshot, List.copyOf(teamIds), teamNames, teamTotals, teamRosters);
+    }
+
+    record View(LeagueSnapshot snapshot, List<Long> teamIds, String[] names,
+                CategoryTotals[] totals, List<List<Long>> rosters) {
+
+        int indexOf(Long teamId) {
+            return teamIds.indexOf(teamId);
+        }
+
+        double[][] values() {
+            double[][] values = new double[totals.length][];
+            for (int i = 0; i < totals.length; i++) {
+                values[i] = totals[i].values();
+            }
+            return values;
+        }
+    }
+}
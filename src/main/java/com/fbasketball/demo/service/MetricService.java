@@ -0,0 +1,136 @@
+package com.fbasketball.demo.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fbasketball.demo.expression.Expression;
+import com.fbasketball.demo.model.PlayerRow;
+import com.fbasketball.demo.model.PlayerMetric;
+
+/**
+ * Derived metrics (per-36, TS%, custom formulas) over the league snapshot
+ *
+ * Expressions are compiled once and cached by source. Their values for every
+ * player, and the sort order, are memoized per snapshot version, so repeated
+ * leaderboard requests between ingests cost a list copy.
+ */
+@Service
+public class MetricService {
+
+    // Named formulas, accepted wherever an expression is
+    public static final Map<String, String> BUILT_IN;
+    static {
+        Map<String, String> builtIn = new LinkedHashMap<>();
+        builtIn.put("per36_pts", "pts / min * 36");
+        builtIn.put("per36_reb", "reb / min * 36");
+        builtIn.put("per36_ast", "ast / min * 36");
+        builtIn.put("ts_pct", "pts / (2 * (fga + 0.44 * fta))");
+        builtIn.put("efg_pct", "(fgm + 0.5 * fg3m) / fga");
+        builtIn.put("ast_to", "ast / tov");
+        builtIn.put("usage_proxy", "(fga + 0.44 * fta + tov) / min");
+        builtIn.put("stocks", "stl + blk");
+        BUILT_IN = Collections.unmodifiableMap(builtIn);
+    }
+
+    // Bounds for the caches keyed by user input
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+
+    @Autowired
+    private LeagueSnapshotHolder snapshots;
+
+    private final Map<String, Expression> compiled = new ConcurrentHashMap<>();
+    private final Map<String, MetricValues> memo = new ConcurrentHashMap<>();
+
+    // values[i] belongs to snapshot.players().get(i); ranked holds finite values, highest first
+    record MetricValues(long version, double[] values, int[] ranked) {}
+
+    /**
+     * Compile a built-in metric name or an expression.
+     * Throws ExpressionException (an IllegalArgumentException) if it is invalid.
+     */
+    public Expression compile(String metric) {
+        String source = BUILT_IN.getOrDefault(metric, metric);
+        Expression expression = compiled.get(source);
+        if (expression == null) {
+            expression = Expression.compile(source);
+            if (compiled.size() >= MAX_CACHED_EXPRESSIONS) {
+                compiled.clear();
+            }
+            compiled.put(source, expression);
+        }
+        return expression;
+    }
+
+    /**
+     * Players ranked by the metric (highest first, or lowest first if ascending).
+     * Players for whom it is undefined (missing stats, division by zero) are left out.
+     */
+    public List<PlayerMetric> leaderboard(String metric, int limit, boolean ascending) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        MetricValues values = values(compile(metric), snapshot);
+
+        int count = Math.max(0, Math.min(limit, values.ranked().length));
+        List<PlayerMetric> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = values.ranked()[ascending ? values.ranked().length - 1 - i : i];
+            result.add(PlayerMetric.of(snapshot.rows().get(index), values.values()[index]));
+        }
+        return result;
+    }
+
+    /**
+     * Players whose metric value lies within [min, max] (either bound optional), highest first
+     */
+    public List<PlayerMetric> filter(String metric, Double min, Double max) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        MetricValues values = values(compile(metric), snapshot);
+
+        List<PlayerMetric> result = new ArrayList<>();
+        for (int index : values.ranked()) {
+            double value = values.values()[index];
+            if ((min == null || value >= min) && (max == null || value <= max)) {
+                result.add(PlayerMetric.of(snapshot.rows().get(index), value));
+            }
+        }
+        return result;
+    }
+
+    // ========================================================================
+    // MEMOIZATION
+    // ========================================================================
+
+    MetricValues values(Expression expression, LeagueSnapshot snapshot) {
+        MetricValues cached = memo.get(expression.source());
+        if (cached != null && cached.version() == snapshot.version()) {
+            return cached;
+        }
+
+        List<PlayerRow> rows = snapshot.rows();
+        double[] values = new double[rows.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = expression.evaluate(rows.get(i).stats());
+        }
+        int[] ranked = IntStream.range(0, values.length)
+                .filter(i -> Double.isFinite(values[i]))
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> values[i]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        MetricValues computed = new MetricValues(snapshot.version(), values, ranked);
+        if (memo.size() >= MAX_CACHED_EXPRESSIONS) {
+            memo.clear();
+        }
+        memo.put(expression.source(), computed);
+        return computed;
+    }
+}
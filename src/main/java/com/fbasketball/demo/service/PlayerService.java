@@ -5,66 +5,111 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fbasketball.demo.model.BatchPlayerResult;
+import com.fbasketball.demo.model.BatchPlayerResults;
 import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.model.PlayerRow;
+import com.fbasketball.demo.model.PlayerRows;
 import com.fbasketball.demo.repository.PlayerRepository;
 
+// Reads are served from the in-memory league snapshot, pinned per request so one
+// request never mixes two versions. Writes go to the database (primary pool) and
+// publish the change to the snapshot after commit.
+// Read responses are the snapshot's pre-encoded PlayerRows (no Jackson, no boxing).
 @Service
 public class PlayerService {
 
     @Autowired
     private PlayerRepository playerRepository;
+
+    @Autowired
+    private LeagueSnapshotHolder snapshots;
     
     // Get all players
-    public List<Player> getAllPlayers() {
-        return playerRepository.findAll();
+    public PlayerRows getAllPlayers() {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        return snapshot.rowsOf(snapshot.players());
     }
 
     // Get player by ID
     public Optional<Player> getPlayerById(Long playerId) {
-        return playerRepository.findById(playerId);
+        return snapshots.pinned().get(playerId);
+    }
+
+    // Get player by ID, as a response row
+    public Optional<PlayerRow> getPlayerRowById(Long playerId) {
+        return Optional.ofNullable(snapshots.pinned().rowOrNull(playerId));
+    }
+
+    // Get several players at once, results in request order
+    public BatchPlayerResults getPlayersByIds(List<Long> playerIds) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        return new BatchPlayerResults(playerIds.stream()
+                .map(id -> BatchPlayerResult.of(id, snapshot.rowOrNull(id)))
+                .toList());
     }
 
     // Search by name
-    public List<Player> searchPlayersByName(String name) {
-        return playerRepository.findByPlayerNameContainingIgnoreCase(name);
+    public PlayerRows searchPlayersByName(String name) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        return snapshot.rowsOf(snapshot.searchByName(name));
     }
 
     // Get by team
-    public List<Player> getPlayersByTeam(String teamAbbreviation) {
-        return playerRepository.findByTeamAbbreviation(teamAbbreviation);
+    public PlayerRows getPlayersByTeam(String teamAbbreviation) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        return snapshot.rowsOf(snapshot.team(teamAbbreviation));
     }
 
     // Top fantasy players
-    public List<Player> getTopFantasyPlayers(int limit) {
-        return playerRepository.findTopNByOrderByNbaFantasyPtsDesc(limit);
+    public PlayerRows getTopFantasyPlayers(int limit) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        return snapshot.rowsOf(snapshot.topFantasy(limit));
     }
 
     // Top scorers
-    public List<Player> getTopScorers(int limit) {
-        return playerRepository.findTopNByOrderByPtsDesc(limit);
+    public PlayerRows getTopScorers(int limit) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        return snapshot.rowsOf(snapshot.topScorers(limit));
     }
 
     // Most efficient shooters
-    public List<Player> getEfficientShooters(int limit) {
-        return playerRepository.findTopNByOrderByFgPctDesc(limit);
+    public PlayerRows getEfficientShooters(int limit) {
+        LeagueSnapshot snapshot = snapshots.pinned();
+        return snapshot.rowsOf(snapshot.topFgPct(limit));
     }
 
     // Player count
     public long getTotalPlayerCount() {
-        return playerRepository.count();
+        return snapshots.pinned().size();
     }
 
-    // Check if player exists
+    // Check if player exists (against the database, used before writes)
+    @Transactional(readOnly = true)
     public boolean playerExists(Long playerId) {
         return playerRepository.existsById(playerId);
     }
     // Add these methods to PlayerService
 
+@Transactional
 public Player createPlayer(Player player) {
-    return playerRepository.save(player);
+    Player saved = playerRepository.save(player);
+    snapshots.publishUpserted(List.of(saved));
+    return saved;
+}
+
+// Upsert a whole batch (e.g. a nightly load) in one transaction,
+// readers switch from the old league to the new one in a single step
+@Transactional
+public List<Player> ingestPlayers(List<Player> players) {
+    List<Player> saved = playerRepository.saveAll(players);
+    snapshots.publishUpserted(saved);
+    return saved;
 }
 
+@Transactional
 public Player updatePlayer(Long playerId, Player playerDetails) {
     Player existingPlayer = playerRepository.findById(playerId)
             .orElseThrow(() -> new RuntimeException("Player not found with id: " + playerId));
@@ -101,10 +146,19 @@ public Player updatePlayer(Long playerId, Player playerDetails) {
     existingPlayer.setNbaFantasyPts(playerDetails.getNbaFantasyPts());
     existingPlayer.setHeadshot(playerDetails.getHeadshot());
     
-    return playerRepository.save(existingPlayer);
+    Player saved = playerRepository.save(existingPlayer);
+    snapshots.publishUpserted(List.of(saved));
+    return saved;
 }
 
+@Transactional
 public void deletePlayer(Long playerId) {
     playerRepository.deleteById(playerId);
+    snapshots.publishDeleted(playerId);
+}
+
+// Rebuild the snapshot from the database (after writes that bypass the API)
+public long reloadSnapshot() {
+    return snapshots.reload().version();
 }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.fbasketball.demo.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fbasketball.demo.model.Player;
+
+/**
+ * Append-only journal of accepted but not yet persisted player updates
+ *
+ * Updates are written as JSON lines to numbered segment files (updates-N.log).
+ * When the write-behind queue drains, it seals the current segments and starts
+ * a new one; the sealed files are deleted once the drained updates are committed.
+ * After a failed flush the pending updates are compacted into one segment, so
+ * repeated failures don't pile up files. Anything still on disk at startup is
+ * replayed, in order.
+ *
+ * Updates the database rejects are moved to dead-letter.log, which is never replayed.
+ *
+ * Not thread-safe, callers hold the queue lock.
+ */
+class PlayerUpdateJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerUpdateJournal.class);
+
+    private static final String PREFIX = "updates-";
+    private static final String SUFFIX = ".log";
+    private static final String DEAD_LETTER = "dead-letter.log";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+
+    // Segments not yet covered by a successful flush, oldest first (last one is active)
+    private final List<Path> segments = new ArrayList<>();
+    private FileChannel active;
+    private long nextSegment;
+
+    PlayerUpdateJournal(Path directory, ObjectMapper objectMapper, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> segmentNumber(file) >= 0)
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .forEach(segments::add);
+        }
+        nextSegment = segments.isEmpty() ? 0 : segmentNumber(segments.get(segments.size() - 1)) + 1;
+        openNewSegment();
+    }
+
+    /**
+     * Updates left over from a previous run, oldest first
+     */
+    List<Player> replay() throws IOException {
+        List<Player> updates = new ArrayList<>();
+        for (Path segment : segments.subList(0, segments.size() - 1)) {
+            try (BufferedReader reader = Files.newBufferedReader(segment)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        updates.add(objectMapper.readValue(line, Player.class));
+                    } catch (JsonProcessingException e) {
+                        // Torn last line from a crash mid-write, the update was never acknowledged
+                        log.warn("Skipping unreadable journal entry in {}: {}", segment.getFileName(), e.getOriginalMessage());
+                    }
+                }
+            }
+        }
+        return updates;
+    }
+
+    void append(Player update) throws IOException {
+        write(active, update);
+        if (fsync) {
+            active.force(false);
+        }
+    }
+
+    /**
+     * Start a new segment and close the active one.
+     * Returns every segment written so far; pass them to release() once their
+     * updates are committed, or to restore() if the flush failed.
+     * If the new segment can't be created nothing changes, appends keep going
+     * to the active segment.
+     */
+    List<Path> seal() throws IOException {
+        FileChannel previous = active;
+        List<Path> sealed = new ArrayList<>(segments);
+        openNewSegment();
+        segments.removeAll(sealed);
+        try {
+            previous.close();
+        } catch (IOException e) {
+            // Everything was written through the channel already, only the handle leaks
+            log.warn("Could not close sealed journal segment {}", sealed.get(sealed.size() - 1).getFileName(), e);
+        }
+        return sealed;
+    }
+
+    void release(List<Path> sealed) throws IOException {
+        for (Path segment : sealed) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    void restore(List<Path> sealed) {
+        segments.addAll(0, sealed);
+    }
+
+    /**
+     * Replace the sealed segments and every segment written since with one holding
+     * state (the merged pending updates), then start a new active segment.
+     * If the compacted segment can't be written nothing changes; restore() the
+     * sealed segments instead.
+     */
+    void compact(Collection<Player> state, List<Path> sealed) throws IOException {
+        Path compacted = directory.resolve(PREFIX + nextSegment++ + SUFFIX);
+        try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for (Player update : state) {
+                write(channel, update);
+            }
+            // The originals are deleted next, fsync regardless of the setting
+            channel.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+
+        FileChannel previous = active;
+        List<Path> obsolete = new ArrayList<>(sealed);
+        obsolete.addAll(segments);
+        try {
+            openNewSegment();
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+        segments.removeAll(obsolete);
+        segments.add(0, compacted);
+        try {
+            previous.close();
+        } catch (IOException e) {
+            log.warn("Could not close compacted journal segment", e);
+        }
+        // Older than the compacted segment, so if one can't be deleted it is kept
+        // (and replayed) ahead of it until the next release
+        for (int i = obsolete.size() - 1; i >= 0; i--) {
+            try {
+                Files.deleteIfExists(obsolete.get(i));
+            } catch (IOException e) {
+                log.warn("Could not delete compacted journal segment {}", obsolete.get(i).getFileName(), e);
+                segments.add(0, obsolete.get(i));
+            }
+        }
+    }
+
+    /**
+     * Append updates that can never be persisted to dead-letter.log, for a person to look at
+     */
+    void deadLetter(List<Player> updates) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Player update : updates) {
+                write(channel, update);
+            }
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        active.close();
+    }
+
+    // Leaves active and segments untouched if the file can't be created (the number is skipped)
+    private void openNewSegment() throws IOException {
+        Path segment = directory.resolve(PREFIX + nextSegment++ + SUFFIX);
+        active = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.add(segment);
+    }
+
+    private void write(FileChannel channel, Player update) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(update);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
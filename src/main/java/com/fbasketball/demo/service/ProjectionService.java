@@ -0,0 +1,193 @@
+package com.fbasketball.demo.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fbasketball.demo.expression.StatColumn;
+import com.fbasketball.demo.model.PlayerProjection;
+import com.fbasketball.demo.model.PlayerRow;
+import com.fbasketball.demo.model.ProjectionModelSummary;
+import com.fbasketball.demo.projection.ProjectionModel;
+import com.fbasketball.demo.projection.ProjectionTrainer;
+import com.fbasketball.demo.projection.SeasonHistory;
+
+/**
+ * Fantasy points projections for the whole league
+ *
+ * The model is trained in-process from the season CSVs in app.projections.history-dir,
+ * on first use and again on retrain(). While there is none, reads try to train at
+ * most once per app.projections.retry-interval-ms. The league is scored in one batch per
+ * snapshot version (so once after each ingest) and model, and every request
+ * until the next ingest reads the cached scores.
+ */
+@Service
+public class ProjectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionService.class);
+
+    private final LeagueSnapshotHolder snapshots;
+    private final Path historyDir;
+    private final long retryIntervalNanos;
+
+    private volatile ProjectionModel model;
+    private volatile boolean loaded;
+    // System.nanoTime() before which reads don't try to train again
+    private volatile long nextAttempt;
+    private final Object trainLock = new Object();
+
+    // Scores of one snapshot version under one model, ranked holds indexes highest first
+    private volatile Scores scores;
+
+    private record Scores(long version, ProjectionModel model, double[] projected, int[] ranked, long nanos) {}
+
+    public ProjectionService(LeagueSnapshotHolder snapshots,
+                             @Value("${app.projections.history-dir:data/history}") String historyDir,
+                             @Value("${app.projections.retry-interval-ms:60000}") long retryIntervalMs) {
+        this.snapshots = snapshots;
+        this.historyDir = Path.of(historyDir);
+        this.retryIntervalNanos = retryIntervalMs * 1_000_000;
+        this.nextAttempt = System.nanoTime();
+    }
+
+    /**
+     * Current model, trained on first use; empty if there is not enough history,
+     * in which case a call after the retry interval tries again (e.g. once the
+     * scraper has written it). Calls in between return empty without reading the CSVs.
+     */
+    public Optional<ProjectionModel> model() {
+        if (loaded || System.nanoTime() - nextAttempt < 0) {
+            return Optional.ofNullable(model);
+        }
+        synchronized (trainLock) {
+            if (!loaded && System.nanoTime() - nextAttempt >= 0) {
+                try {
+                    model = train();
+                    loaded = true;
+                } catch (IOException | IllegalStateException e) {
+                    nextAttempt = System.nanoTime() + retryIntervalNanos;
+                    log.warn("No projection model, trying again in {} s: {}",
+                            retryIntervalNanos / 1_000_000_000, e.getMessage());
+                }
+            }
+            return Optional.ofNullable(model);
+        }
+    }
+
+    /**
+     * Retrain from the history directory and swap the new model in.
+     * Throws IOException / IllegalStateException if the history can't be read or is too small,
+     * in which case the previous model stays.
+     */
+    public ProjectionModel retrain() throws IOException {
+        synchronized (trainLock) {
+            ProjectionModel trained = train();
+            model = trained;
+            loaded = true;
+            return trained;
+        }
+    }
+
+    private ProjectionModel train() throws IOException {
+        List<SeasonHistory.Season> seasons = SeasonHistory.load(historyDir);
+        ProjectionModel trained = ProjectionTrainer.train(seasons);
+        log.info("Trained projection model on {} examples from seasons {} in {} ms (cv rmse {}, baseline {})",
+                trained.examples(), trained.seasons(), trained.trainingMillis(),
+                String.format("%.2f", trained.cvRmse()), String.format("%.2f", trained.baselineRmse()));
+        return trained;
+    }
+
+    // ========================================================================
+    // READS
+    // ========================================================================
+
+    /**
+     * Players by projected fantasy points, highest first; empty if there is no model
+     */
+    public Optional<List<PlayerProjection>> topProjections(int limit) {
+        return model().map(current -> {
+            LeagueSnapshot snapshot = snapshots.pinned();
+            Scores scored = scores(current, snapshot);
+            int count = Math.max(0, Math.min(limit, scored.ranked().length));
+            List<PlayerProjection> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = scored.ranked()[i];
+                result.add(projection(snapshot.rows().get(index), scored.projected()[index]));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * One player's projection under the given model (from model()); empty if there is no such player
+     */
+    public Optional<PlayerProjection> projectionFor(ProjectionModel current, Long playerId) {
+        // A single row is cheaper to score than to find in the cached batch
+        return Optional.ofNullable(snapshots.pinned().rowOrNull(playerId))
+                .map(row -> projection(row, current.project(row.stats())));
+    }
+
+    /**
+     * Training details of the current model and the cost of the last league scoring
+     */
+    public Optional<ProjectionModelSummary> summary() {
+        return model().map(current -> {
+            Scores scored = scores;
+            boolean forModel = scored != null && scored.model() == current;
+            return new ProjectionModelSummary(
+                    current.seasons(),
+                    current.examples(),
+                    current.lambda(),
+                    current.cvRmse(),
+                    current.baselineRmse(),
+                    current.trainingMillis(),
+                    current.trainedAt(),
+                    current.weights(),
+                    forModel ? scored.version() : null,
+                    forModel ? scored.projected().length : null,
+                    forModel ? scored.nanos() / 1_000 : null);
+        });
+    }
+
+    // ========================================================================
+    // BATCH SCORING
+    // ========================================================================
+
+    private Scores scores(ProjectionModel current, LeagueSnapshot snapshot) {
+        Scores cached = scores;
+        if (cached != null && cached.version() == snapshot.version() && cached.model() == current) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        List<PlayerRow> rows = snapshot.rows();
+        double[] projected = new double[rows.size()];
+        for (int i = 0; i < projected.length; i++) {
+            projected[i] = current.project(rows.get(i).stats());
+        }
+        int[] ranked = IntStream.range(0, projected.length)
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> projected[i]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        Scores computed = new Scores(snapshot.version(), current, projected, ranked, System.nanoTime() - start);
+        scores = computed;
+        return computed;
+    }
+
+    private static PlayerProjection projection(PlayerRow row, double projected) {
+        double actual = row.stat(StatColumn.NBA_FANTASY_PTS);
+        return new PlayerProjection(row.playerId(), row.playerName(), row.teamAbbreviation(),
+                Double.isNaN(actual) ? null : actual, projected);
+    }
+}
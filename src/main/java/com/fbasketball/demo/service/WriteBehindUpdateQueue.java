@@ -0,0 +1,432 @@
+package com.fbasketball.demo.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.repository.PlayerRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * Write-behind mode for PUT /api/players/{id} (app.write-behind.enabled=true)
+ *
+ * Updates are journaled, then coalesced per playerId in a bounded in-memory map:
+ * a newer update overwrites the fields it sets and keeps the rest of the pending one.
+ * A background thread persists the pending updates in batched transactions.
+ * When the map holds `capacity` distinct players, new players wait up to
+ * offer-timeout-ms for room and are then rejected (back-pressure).
+ *
+ * Updates are validated before they are journaled. If a chunk still fails, its
+ * players are retried one by one: an update the database rejects (constraint
+ * violation) goes to the journal's dead-letter file, any other failure requeues
+ * everything not yet persisted and the flusher backs off. On shutdown the flusher
+ * gets drain-timeout-ms to persist what is left; the rest is replayed on startup.
+ */
+@Service
+@ConditionalOnProperty(name = "app.write-behind.enabled", havingValue = "true")
+public class WriteBehindUpdateQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUpdateQueue.class);
+
+    // Wait after a failed flush, doubled on each consecutive failure
+    static final long MIN_RETRY_BACKOFF_MS = 500;
+    static final long MAX_RETRY_BACKOFF_MS = 30_000;
+
+    private final PlayerRepository playerRepository;
+    private final LeagueSnapshotHolder snapshots;
+    private final TransactionTemplate transactionTemplate;
+    private final PlayerUpdateJournal journal;
+    private final Validator validator;
+
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final long drainTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+
+    // playerId -> merged pending update, guarded by lock
+    private LinkedHashMap<Long, Player> pending = new LinkedHashMap<>();
+    private boolean running;
+    // Set by stop(): the flusher gives up retrying after this
+    private long drainDeadline;
+    private Thread flusher;
+
+    public WriteBehindUpdateQueue(
+            PlayerRepository playerRepository,
+            LeagueSnapshotHolder snapshots,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${app.write-behind.capacity:2000}") int capacity,
+            @Value("${app.write-behind.batch-size:100}") int batchSize,
+            @Value("${app.write-behind.flush-interval-ms:500}") long flushIntervalMs,
+            @Value("${app.write-behind.offer-timeout-ms:200}") long offerTimeoutMs,
+            @Value("${app.write-behind.drain-timeout-ms:10000}") long drainTimeoutMs,
+            @Value("${app.write-behind.journal-dir:data/write-behind}") String journalDir,
+            @Value("${app.write-behind.journal-fsync:false}") boolean journalFsync) throws IOException {
+        this.playerRepository = playerRepository;
+        this.snapshots = snapshots;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new PlayerUpdateJournal(Path.of(journalDir), objectMapper, journalFsync);
+        this.validator = validator;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.drainTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(drainTimeoutMs);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        List<Player> replayed = journal.replay();
+        lock.lock();
+        try {
+            for (Player update : replayed) {
+                coalesce(update.getPlayerId(), update);
+            }
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        if (!replayed.isEmpty()) {
+            log.info("Replayed {} journaled player updates ({} players)", replayed.size(), pending.size());
+        }
+
+        flusher = Thread.ofPlatform().name("player-write-behind").start(this::runFlusher);
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            drainDeadline = System.nanoTime() + drainTimeoutNanos;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        // The flusher drains whatever is left before exiting, or gives up at the deadline
+        flusher.join(TimeUnit.NANOSECONDS.toMillis(drainTimeoutNanos) + 1_000);
+        if (flusher.isAlive()) {
+            log.warn("Write-behind flusher still busy after the drain timeout, interrupting it");
+            flusher.interrupt();
+            flusher.join(1_000);
+        }
+        lock.lock();
+        try {
+            journal.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========================================================================
+    // PRODUCER SIDE
+    // ========================================================================
+
+    /**
+     * Accept an update for later persistence.
+     * Returns false if the queue stayed full for offer-timeout-ms or is shutting down.
+     * Throws IllegalArgumentException if a field it sets is invalid, before anything is journaled.
+     */
+    public boolean submit(Long playerId, Player update) {
+        update.setPlayerId(playerId);
+        validate(update);
+
+        lock.lock();
+        try {
+            long nanos = offerTimeoutNanos;
+            while (running && !pending.containsKey(playerId) && pending.size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            if (!running) {
+                return false;
+            }
+
+            journal.append(update);
+            coalesce(playerId, update);
+            notEmpty.signal();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal update for player " + playerId, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Only the fields the update sets, the rest keep their stored values
+    private void validate(Player update) {
+        Set<ConstraintViolation<Player>> violations = validator.validate(update);
+        String invalid = violations.stream()
+                .filter(violation -> violation.getInvalidValue() != null)
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (!invalid.isEmpty()) {
+            throw new IllegalArgumentException("Invalid update for player " + update.getPlayerId() + ": " + invalid);
+        }
+    }
+
+    // Caller holds lock
+    private void coalesce(Long playerId, Player update) {
+        Player existing = pending.get(playerId);
+        if (existing == null) {
+            pending.put(playerId, update);
+        } else {
+            mergeNonNullFields(existing, update);
+        }
+    }
+
+    // ========================================================================
+    // FLUSHER
+    // ========================================================================
+
+    private void runFlusher() {
+        long backoffMs = 0;
+        while (true) {
+            Map<Long, Player> batch;
+            List<Path> sealed;
+            lock.lock();
+            try {
+                if (backoffMs > 0) {
+                    awaitRetry(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                }
+                while (running && pending.isEmpty()) {
+                    notEmpty.await();
+                }
+                // Coalescing window: let more updates pile up unless a full batch is ready
+                long nanos = flushIntervalNanos;
+                while (running && nanos > 0 && pending.size() < batchSize) {
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                if (!running && System.nanoTime() - drainDeadline >= 0) {
+                    log.warn("Write-behind drain timed out, {} updates stay in the journal for replay", pending.size());
+                    return;
+                }
+
+                sealed = journal.seal();
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                log.warn("Write-behind flusher interrupted, {} updates stay in the journal", pending.size());
+                return;
+            } catch (IOException e) {
+                log.error("Could not seal write-behind journal, retrying", e);
+                backoffMs = nextBackoff(backoffMs);
+                continue;
+            } finally {
+                lock.unlock();
+            }
+
+            backoffMs = flush(batch, sealed) ? 0 : nextBackoff(backoffMs);
+        }
+    }
+
+    // Caller holds lock. Returns early at the drain deadline once stopped.
+    private void awaitRetry(long retryAt) throws InterruptedException {
+        while (true) {
+            long until = running || retryAt - drainDeadline < 0 ? retryAt : drainDeadline;
+            long nanos = until - System.nanoTime();
+            if (nanos <= 0) {
+                return;
+            }
+            notEmpty.awaitNanos(nanos);
+        }
+    }
+
+    private static long nextBackoff(long backoffMs) {
+        return backoffMs == 0 ? MIN_RETRY_BACKOFF_MS : Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+    }
+
+    /**
+     * Persist a drained batch; returns false if part of it was requeued
+     */
+    private boolean flush(Map<Long, Player> batch, List<Path> sealed) {
+        List<Map.Entry<Long, Player>> entries = new ArrayList<>(batch.entrySet());
+        List<Player> rejected = new ArrayList<>();
+        int done = 0;
+        try {
+            while (done < entries.size()) {
+                List<Map.Entry<Long, Player>> chunk = entries.subList(done, Math.min(done + batchSize, entries.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(chunk));
+                    done += chunk.size();
+                    continue;
+                } catch (RuntimeException e) {
+                    log.warn("Write-behind chunk of {} players failed, retrying them one by one: {}", chunk.size(), e.toString());
+                }
+                // Isolate the update(s) the database rejects, the rest of the chunk goes through
+                for (Map.Entry<Long, Player> entry : List.copyOf(chunk)) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> persist(List.of(entry)));
+                    } catch (RuntimeException e) {
+                        if (!rejectedByDatabase(e)) {
+                            throw e;
+                        }
+                        log.error("Write-behind update for player {} rejected, moved to the dead-letter file: {}",
+                                entry.getKey(), e.toString());
+                        rejected.add(entry.getValue());
+                    }
+                    done++;
+                }
+            }
+            deadLetter(rejected);
+            journal.release(sealed);
+            return true;
+        } catch (RuntimeException | IOException e) {
+            log.error("Write-behind flush failed after {} of {} players, requeueing the rest", done, entries.size(), e);
+            deadLetter(rejected);
+            requeue(entries.subList(done, entries.size()), sealed);
+            return false;
+        }
+    }
+
+    // Constraint violations fail the same way on every retry, anything else may be transient
+    private static boolean rejectedByDatabase(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void deadLetter(List<Player> rejected) {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            journal.deadLetter(rejected);
+        } catch (IOException e) {
+            // Their sealed segments may still be released, the log line is all that is left
+            log.error("Could not write rejected updates for players {} to the dead-letter file",
+                    rejected.stream().map(Player::getPlayerId).toList(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void persist(List<Map.Entry<Long, Player>> chunk) {
+        Map<Long, Player> updates = new LinkedHashMap<>();
+        for (Map.Entry<Long, Player> entry : chunk) {
+            updates.put(entry.getKey(), entry.getValue());
+        }
+        // Players deleted in the meantime are simply not found and their updates dropped
+        List<Player> players = playerRepository.findAllById(updates.keySet());
+        for (Player player : players) {
+            mergeNonNullFields(player, updates.get(player.getPlayerId()));
+        }
+        playerRepository.saveAll(players);
+        snapshots.publishUpserted(players);
+    }
+
+    private void requeue(List<Map.Entry<Long, Player>> failed, List<Path> sealed) {
+        lock.lock();
+        try {
+            for (Map.Entry<Long, Player> entry : failed) {
+                // Anything submitted since the drain is newer and wins
+                Player newer = pending.get(entry.getKey());
+                Player merged = entry.getValue();
+                if (newer != null) {
+                    mergeNonNullFields(merged, newer);
+                }
+                pending.put(entry.getKey(), merged);
+            }
+            // One segment holding the merged pending state replaces the sealed ones and the active one
+            try {
+                journal.compact(pending.values(), sealed);
+            } catch (IOException e) {
+                log.warn("Could not compact write-behind journal, keeping its segments", e);
+                journal.restore(sealed);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copy every non-null field of source onto target (playerId excluded)
+     */
+    static void mergeNonNullFields(Player target, Player source) {
+        if (source.getPlayerName() != null) target.setPlayerName(source.getPlayerName());
+        if (source.getTeamId() != null) target.setTeamId(source.getTeamId());
+        if (source.getTeamAbbreviation() != null) target.setTeamAbbreviation(source.getTeamAbbreviation());
+        if (source.getAge() != null) target.setAge(source.getAge());
+        if (source.getGp() != null) target.setGp(source.getGp());
+        if (source.getW() != null) target.setW(source.getW());
+        if (source.getL() != null) target.setL(source.getL());
+        if (source.getWPct() != null) target.setWPct(source.getWPct());
+        if (source.getMin() != null) target.setMin(source.getMin());
+        if (source.getFgm() != null) target.setFgm(source.getFgm());
+        if (source.getFga() != null) target.setFga(source.getFga());
+        if (source.getFgPct() != null) target.setFgPct(source.getFgPct());
+        if (source.getFg3m() != null) target.setFg3m(source.getFg3m());
+        if (source.getFg3a() != null) target.setFg3a(source.getFg3a());
+        if (source.getFg3Pct() != null) target.setFg3Pct(source.getFg3Pct());
+        if (source.getFtm() != null) target.setFtm(source.getFtm());
+        if (source.getFta() != null) target.setFta(source.getFta());
+        if (source.getFtPct() != null) target.setFtPct(source.getFtPct());
+        if (source.getOreb() != null) target.setOreb(source.getOreb());
+        if (source.getDreb() != null) target.setDreb(source.getDreb());
+        if (source.getReb() != null) target.setReb(source.getReb());
+        if (source.getAst() != null) target.setAst(source.getAst());
+        if (source.getTov() != null) target.setTov(source.getTov());
+        if (source.getStl() != null) target.setStl(source.getStl());
+        if (source.getBlk() != null) target.setBlk(source.getBlk());
+        if (source.getPf() != null) target.setPf(source.getPf());
+        if (source.getPts() != null) target.setPts(source.getPts());
+        if (source.getPlusMinus() != null) target.setPlusMinus(source.getPlusMinus());
+        if (source.getNbaFantasyPts() != null) target.setNbaFantasyPts(source.getNbaFantasyPts());
+        if (source.getHeadshot() != null) target.setHeadshot(source.getHeadshot());
+    }
+}
@@ -0,0 +1,147 @@
+package com.fbasketball.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.service.LeagueSnapshot;
+import com.fbasketball.demo.service.LeagueSnapshotHolder;
+import com.fbasketball.demo.service.PlayerService;
+
+@SpringBootTest
+@ActiveProfiles("routing")
+class DataSourceConfigTests {
+
+	private static final String CURRENT_DATABASE = "SELECT DATABASE()";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private LeagueSnapshotHolder snapshots;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Test
+	void readOnlyTransactionsUseReplica() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		tx.setReadOnly(true);
+
+		String database = tx.execute(status ->
+				new JdbcTemplate(dataSource).queryForObject(CURRENT_DATABASE, String.class));
+
+		assertThat(database).isEqualToIgnoringCase("replica");
+	}
+
+	@Test
+	void readWriteTransactionsUsePrimary() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		String database = tx.execute(status ->
+				new JdbcTemplate(dataSource).queryForObject(CURRENT_DATABASE, String.class));
+
+		assertThat(database).isEqualToIgnoringCase("primary");
+	}
+
+	@Test
+	void nonTransactionalAccessUsesPrimary() {
+		String database = new JdbcTemplate(dataSource).queryForObject(CURRENT_DATABASE, String.class);
+
+		assertThat(database).isEqualToIgnoringCase("primary");
+	}
+
+	@Test
+	void serviceWritesLandOnPrimary() {
+		Player player = new Player();
+		player.setPlayerId(2544L);
+		player.setPlayerName("LeBron James");
+		player.setTeamAbbreviation("LAL");
+
+		playerService.createPlayer(player);
+
+		Integer count = new JdbcTemplate(primaryDataSource)
+				.queryForObject("SELECT COUNT(*) FROM players WHERE player_id = 2544", Integer.class);
+		assertThat(count).isEqualTo(1);
+	}
+
+	@Test
+	void readOnlyServiceReadsRunOnReplica() {
+		// Only on the replica, so the read can only succeed there
+		JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+		replica.update("INSERT INTO players (player_id, player_name, team_abbreviation) VALUES (201939, 'Stephen Curry', 'GSW')");
+		try {
+			assertThat(playerService.playerExists(201939L)).isTrue();
+
+			Integer onPrimary = new JdbcTemplate(primaryDataSource)
+					.queryForObject("SELECT COUNT(*) FROM players WHERE player_id = 201939", Integer.class);
+			assertThat(onPrimary).isZero();
+		} finally {
+			replica.update("DELETE FROM players WHERE player_id = 201939");
+		}
+	}
+
+	@Test
+	void writeAfterReadOnlyCheckInOneRequestLandsOnPrimary() throws Exception {
+		MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+		// POST checks playerExists (replica) before inserting
+		mvc.perform(post("/api/players")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"playerId\":1630162,\"playerName\":\"Anthony Edwards\",\"teamAbbreviation\":\"MIN\"}"))
+				.andExpect(status().isCreated());
+
+		Integer onPrimary = new JdbcTemplate(primaryDataSource)
+				.queryForObject("SELECT COUNT(*) FROM players WHERE player_id = 1630162", Integer.class);
+		Integer onReplica = new JdbcTemplate(replicaDataSource)
+				.queryForObject("SELECT COUNT(*) FROM players WHERE player_id = 1630162", Integer.class);
+		assertThat(onPrimary).isEqualTo(1);
+		assertThat(onReplica).isZero();
+	}
+
+	@Test
+	void snapshotReloadReadsThePrimary() {
+		// Only on the primary, as if the replica had not caught up yet
+		JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+		primary.update("INSERT INTO players (player_id, player_name, team_abbreviation) VALUES (1628369, 'Jayson Tatum', 'BOS')");
+		try {
+			LeagueSnapshot reloaded = snapshots.reload();
+
+			assertThat(reloaded.getOrNull(1628369L)).isNotNull();
+		} finally {
+			primary.update("DELETE FROM players WHERE player_id = 1628369");
+			snapshots.reload();
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.fbasketball.demo.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.service.LeagueService;
+import com.fbasketball.demo.service.PlayerService;
+
+/**
+ * Standings and trades against a replica that has the league but none of its
+ * rosters yet: the totals must still be built from the primary.
+ */
+@SpringBootTest
+@ActiveProfiles("routing")
+class LeagueControllerTests {
+
+	private static final long JOKIC = 203999L;
+	private static final long DONCIC = 1629029L;
+	private static final long UNKNOWN_LEAGUE = 987654L;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private LeagueService leagueService;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		mvc = MockMvcBuilders.webAppContextSetup(context).build();
+		playerService.ingestPlayers(List.of(player(JOKIC, "Nikola Jokic", "DEN"), player(DONCIC, "Luka Doncic", "LAL")));
+	}
+
+	@Test
+	void standingsReadRostersTheReplicaHasNotSeen() throws Exception {
+		Long league = replicatedLeague("Lagging");
+		Long a = leagueService.createTeam(league, "A").getTeamId();
+		Long b = leagueService.createTeam(league, "B").getTeamId();
+		leagueService.addPlayer(league, a, JOKIC);
+		leagueService.addPlayer(league, b, DONCIC);
+
+		mvc.perform(get("/api/leagues/" + league + "/standings"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].rosterSize").value(1))
+				.andExpect(jsonPath("$[1].rosterSize").value(1));
+		mvc.perform(post("/api/leagues/" + league + "/trades/evaluate")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"teamAId\":" + a + ",\"teamBId\":" + b
+								+ ",\"teamAGives\":[" + JOKIC + "],\"teamBGives\":[" + DONCIC + "]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.teamAGives[0]").value(JOKIC));
+	}
+
+	@Test
+	void tradesInAnUnknownLeagueAreNotFound() throws Exception {
+		mvc.perform(post("/api/leagues/" + UNKNOWN_LEAGUE + "/trades/evaluate")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"teamAId\":1,\"teamBId\":2,\"teamAGives\":[],\"teamBGives\":[]}"))
+				.andExpect(status().isNotFound());
+		mvc.perform(get("/api/leagues/" + UNKNOWN_LEAGUE + "/teams/1/trade-suggestions"))
+				.andExpect(status().isNotFound());
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	// Created on the primary, then copied to the replica without its teams
+	private Long replicatedLeague(String name) {
+		Long league = leagueService.createLeague(name).getLeagueId();
+		new JdbcTemplate(replicaDataSource).update("INSERT INTO leagues (league_id, name) VALUES (?, ?)", league, name);
+		return league;
+	}
+
+	private static Player player(long id, String name, String team) {
+		Player player = new Player();
+		player.setPlayerId(id);
+		player.setPlayerName(name);
+		player.setTeamAbbreviation(team);
+		return player;
+	}
+}
@@ -0,0 +1,128 @@
+package com.fbasketball.demo.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.service.PlayerService;
+
+@SpringBootTest
+@ActiveProfiles("routing")
+class PlayerBatchControllerTests {
+
+	private static final long JOKIC = 203999L;
+	private static final long DONCIC = 1629029L;
+	private static final long MISSING = 1L;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private PlayerService playerService;
+
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		mvc = MockMvcBuilders.webAppContextSetup(context).build();
+		playerService.ingestPlayers(List.of(player(JOKIC, "Nikola Jokic", "DEN"), player(DONCIC, "Luka Doncic", "LAL")));
+	}
+
+	@Test
+	void keepsRequestOrderAndMarksMissingIds() throws Exception {
+		mvc.perform(get("/api/players/batch").param("ids", DONCIC + "," + MISSING + "," + JOKIC))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(jsonPath("$[0].id").value(DONCIC))
+				.andExpect(jsonPath("$[0].found").value(true))
+				.andExpect(jsonPath("$[0].player.playerName").value("Luka Doncic"))
+				.andExpect(jsonPath("$[1].id").value(MISSING))
+				.andExpect(jsonPath("$[1].found").value(false))
+				.andExpect(jsonPath("$[1].player").value(Matchers.nullValue()))
+				.andExpect(jsonPath("$[2].id").value(JOKIC))
+				.andExpect(jsonPath("$[2].player.teamAbbreviation").value("DEN"));
+	}
+
+	@Test
+	void postTakesTheIdsAsABody() throws Exception {
+		mvc.perform(post("/api/players/batch").contentType(MediaType.APPLICATION_JSON).content("[" + JOKIC + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].found").value(true))
+				.andExpect(jsonPath("$[0].player.playerId").value(JOKIC));
+	}
+
+	@Test
+	void duplicateIdsAreAnsweredInEachPosition() throws Exception {
+		mvc.perform(get("/api/players/batch").param("ids", JOKIC + "," + JOKIC + "," + MISSING + "," + MISSING))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(4))
+				.andExpect(jsonPath("$[*].id").value(Matchers.contains((int) JOKIC, (int) JOKIC, (int) MISSING, (int) MISSING)))
+				.andExpect(jsonPath("$[*].found").value(Matchers.contains(true, true, false, false)));
+	}
+
+	@Test
+	void emptyIdsGiveAnEmptyResult() throws Exception {
+		mvc.perform(get("/api/players/batch").param("ids", ""))
+				.andExpect(status().isOk())
+				.andExpect(content().json("[]"));
+		mvc.perform(post("/api/players/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+				.andExpect(status().isOk())
+				.andExpect(content().json("[]"));
+	}
+
+	@Test
+	void acceptsUpTo500Ids() throws Exception {
+		mvc.perform(post("/api/players/batch").contentType(MediaType.APPLICATION_JSON).content(ids(500)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(500));
+	}
+
+	@Test
+	void rejectsMoreThan500Ids() throws Exception {
+		mvc.perform(post("/api/players/batch").contentType(MediaType.APPLICATION_JSON).content(ids(501)))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string("Too many ids: 501 (max 500)"));
+	}
+
+	@Test
+	void rejectsNullIds() throws Exception {
+		mvc.perform(post("/api/players/batch").contentType(MediaType.APPLICATION_JSON).content("[" + JOKIC + ",null]"))
+				.andExpect(status().isBadRequest());
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	private static String ids(int count) {
+		return LongStream.rangeClosed(1, count)
+				.mapToObj(Long::toString)
+				.collect(Collectors.joining(",", "[", "]"));
+	}
+
+	private static Player player(long id, String name, String team) {
+		Player player = new Player();
+		player.setPlayerId(id);
+		player.setPlayerName(name);
+		player.setTeamAbbreviation(team);
+		return player;
+	}
+}
@@ -0,0 +1,105 @@
+package com.fbasketball.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fbasketball.demo.service.PlayerService;
+
+/**
+ * Writes check existence against the database, not the snapshot: a player
+ * upserted straight into the table (e.g. by the scraper) can be updated and
+ * deleted before the next snapshot reload.
+ */
+@SpringBootTest
+@ActiveProfiles("routing")
+class PlayerWriteControllerTests {
+
+	private static final long WEMBANYAMA = 1641705L;
+	private static final String INSERT = "INSERT INTO players (player_id, player_name, team_abbreviation) VALUES (?, ?, ?)";
+	private static final String DELETE = "DELETE FROM players WHERE player_id = ?";
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		mvc = MockMvcBuilders.webAppContextSetup(context).build();
+		// Load the snapshot first, then write behind its back on both databases
+		mvc.perform(get("/api/players/" + WEMBANYAMA)).andExpect(status().isNotFound());
+		for (DataSource dataSource : new DataSource[] {primaryDataSource, replicaDataSource}) {
+			new JdbcTemplate(dataSource).update(INSERT, WEMBANYAMA, "Victor Wembanyama", "SAS");
+		}
+		mvc.perform(get("/api/players/" + WEMBANYAMA)).andExpect(status().isNotFound());
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (DataSource dataSource : new DataSource[] {primaryDataSource, replicaDataSource}) {
+			new JdbcTemplate(dataSource).update(DELETE, WEMBANYAMA);
+		}
+		playerService.reloadSnapshot();
+	}
+
+	@Test
+	void updatesAPlayerTheSnapshotDoesNotHaveYet() throws Exception {
+		mvc.perform(put("/api/players/" + WEMBANYAMA)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"playerName\":\"Victor Wembanyama\",\"teamAbbreviation\":\"SAS\",\"pts\":24.3}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.pts").value(24.3));
+
+		mvc.perform(get("/api/players/" + WEMBANYAMA))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.pts").value(24.3));
+	}
+
+	@Test
+	void deletesAPlayerTheSnapshotDoesNotHaveYet() throws Exception {
+		mvc.perform(delete("/api/players/" + WEMBANYAMA))
+				.andExpect(status().isNoContent());
+
+		Integer onPrimary = new JdbcTemplate(primaryDataSource)
+				.queryForObject("SELECT COUNT(*) FROM players WHERE player_id = ?", Integer.class, WEMBANYAMA);
+		assertThat(onPrimary).isZero();
+	}
+
+	@Test
+	void unknownPlayersAreStillNotFound() throws Exception {
+		mvc.perform(put("/api/players/1").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isNotFound());
+		mvc.perform(delete("/api/players/1"))
+				.andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,67 @@
+package com.fbasketball.demo.expression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.junit.jupiter.api.Test;
+
+import com.fbasketball.demo.model.Player;
+
+class ExpressionTests {
+
+	private final double[] stats = Expression.statsOf(player());
+
+	@Test
+	void evaluatesArithmeticWithPrecedence() {
+		assertThat(Expression.compile("(pts / min) * 36").evaluate(stats)).isEqualTo(30.0);
+		assertThat(Expression.compile("pts + reb * 2").evaluate(stats)).isEqualTo(50.0);
+		assertThat(Expression.compile("-(ast - tov)").evaluate(stats)).isEqualTo(-5.0);
+	}
+
+	@Test
+	void evaluatesTrueShooting() {
+		double ts = Expression.compile("pts / (2 * (fga + 0.44 * fta))").evaluate(stats);
+
+		assertThat(ts).isCloseTo(30.0 / (2 * (20.0 + 0.44 * 10.0)), offset(1e-12));
+	}
+
+	@Test
+	void minIsAColumnUnlessCalled() {
+		assertThat(Expression.compile("min").evaluate(stats)).isEqualTo(36.0);
+		assertThat(Expression.compile("min(pts, reb)").evaluate(stats)).isEqualTo(10.0);
+	}
+
+	@Test
+	void missingStatsAreNaN() {
+		assertThat(Expression.compile("blk * 2").evaluate(stats)).isNaN();
+	}
+
+	@Test
+	void recordsReferencedColumns() {
+		assertThat(Expression.compile("ast / tov + 1").columns())
+				.containsExactlyInAnyOrder(StatColumn.AST, StatColumn.TOV);
+	}
+
+	@Test
+	void rejectsInvalidExpressions() {
+		assertThatThrownBy(() -> Expression.compile("pts +")).isInstanceOf(ExpressionException.class);
+		assertThatThrownBy(() -> Expression.compile("salary / 2")).hasMessageContaining("Unknown column 'salary'");
+		assertThatThrownBy(() -> Expression.compile("max(pts)")).hasMessageContaining("takes 2");
+		assertThatThrownBy(() -> Expression.compile("(pts")).hasMessageContaining("Expected ')'");
+		assertThatThrownBy(() -> Expression.compile(" ")).hasMessageContaining("empty");
+	}
+
+	private static Player player() {
+		Player player = new Player();
+		player.setPts(30.0);
+		player.setMin(36.0);
+		player.setReb(10.0);
+		player.setAst(8.0);
+		player.setTov(3.0);
+		player.setFga(20.0);
+		player.setFta(10.0);
+		return player;
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.fbasketball.demo.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fbasketball.demo.model.PlayerRowsTests.EntityResult;
+
+/**
+ * Bytes allocated and time per response, entity path (Jackson) vs row path,
+ * for the full league (450 players) and a 15-id batch lookup.
+ * Not part of the regular build: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class PlayerRowsBenchmarkTests {
+
+	private static final int WARMUP = 200;
+	private static final int ITERATIONS = 1_000;
+	private static final int BATCH = 15;
+
+	private final OutputStream sink = OutputStream.nullOutputStream();
+
+	@Test
+	void fullLeague() throws IOException {
+		List<Player> players = PlayerRowsTests.league();
+		PlayerRows rows = PlayerRowsTests.rows(players);
+
+		Result entity = measure(() -> PlayerRowsTests.MAPPER.writeValue(sink, players));
+		Result row = measure(() -> rows.writeTo(sink));
+
+		report("league", entity, row);
+		assertThat(row.bytes()).isLessThan(entity.bytes());
+	}
+
+	@Test
+	void batchLookup() throws IOException {
+		List<Player> players = PlayerRowsTests.league().subList(0, BATCH);
+		List<EntityResult> entities = new ArrayList<>();
+		List<BatchPlayerResult> results = new ArrayList<>();
+		for (Player player : players) {
+			entities.add(new EntityResult(player.getPlayerId(), true, player));
+			results.add(BatchPlayerResult.of(player.getPlayerId(), PlayerRow.of(player)));
+		}
+		BatchPlayerResults batch = new BatchPlayerResults(results);
+
+		Result entity = measure(() -> PlayerRowsTests.MAPPER.writeValue(sink, entities));
+		Result row = measure(() -> batch.writeTo(sink));
+
+		report("batch", entity, row);
+		assertThat(row.bytes()).isLessThan(entity.bytes());
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	private interface Write {
+		void run() throws IOException;
+	}
+
+	private record Result(long bytes, long nanos) {}
+
+	private static void report(String name, Result entity, Result row) {
+		System.out.printf("%s entity path: %,d bytes allocated, %,d ns per response%n", name, entity.bytes(), entity.nanos());
+		System.out.printf("%s row path:    %,d bytes allocated, %,d ns per response%n", name, row.bytes(), row.nanos());
+	}
+
+	private static Result measure(Write write) throws IOException {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().threadId();
+
+		for (int i = 0; i < WARMUP; i++) {
+			write.run();
+		}
+		long bytesBefore = threads.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			write.run();
+		}
+		long nanos = System.nanoTime() - start;
+		long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+		return new Result(bytes / ITERATIONS, nanos / ITERATIONS);
+	}
+}
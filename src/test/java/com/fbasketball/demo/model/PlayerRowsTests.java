@@ -0,0 +1,124 @@
+package com.fbasketball.demo.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * PlayerRows and BatchPlayerResults must write the same JSON Jackson writes for
+ * the entities (PlayerRowsBenchmarkTests measures the difference in cost)
+ */
+class PlayerRowsTests {
+
+	static final int PLAYERS = 450;
+
+	// Spring Boot's Jackson setup doesn't change how Player is written; like
+	// Spring MVC, leave the response stream open
+	static final ObjectMapper MAPPER = new ObjectMapper()
+			.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+	// What the batch endpoint wrote before it served rows
+	record EntityResult(Long id, boolean found, Player player) {}
+
+	@Test
+	void writesTheSameJsonAsJackson() throws IOException {
+		List<Player> players = league();
+		players.get(1).setFg3Pct(null);
+		players.get(2).setTeamId(null);
+		players.get(3).setPlayerName("Shaquille \"Shaq\" O'Neal \\ \u00e9\u0001");
+
+		ByteArrayOutputStream rows = new ByteArrayOutputStream();
+		rows(players).writeTo(rows);
+		String jackson = MAPPER.writeValueAsString(players);
+
+		assertThat(rows.toString(StandardCharsets.UTF_8)).isEqualTo(jackson);
+		assertThat(rows.size()).isEqualTo((int) rows(players).contentLength());
+	}
+
+	@Test
+	void batchResultsWriteTheSameJsonAsJackson() throws IOException {
+		List<Player> players = league().subList(0, 3);
+		BatchPlayerResults batch = new BatchPlayerResults(List.of(
+				BatchPlayerResult.of(players.get(2).getPlayerId(), PlayerRow.of(players.get(2))),
+				BatchPlayerResult.of(1L, null),
+				BatchPlayerResult.of(players.get(0).getPlayerId(), PlayerRow.of(players.get(0)))));
+		String jackson = MAPPER.writeValueAsString(List.of(
+				new EntityResult(players.get(2).getPlayerId(), true, players.get(2)),
+				new EntityResult(1L, false, null),
+				new EntityResult(players.get(0).getPlayerId(), true, players.get(0))));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		batch.writeTo(out);
+
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(jackson);
+		assertThat(out.size()).isEqualTo((int) batch.contentLength());
+		assertThat(batchJson(List.of())).isEqualTo("[]").isEqualTo(MAPPER.writeValueAsString(List.of()));
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	private static String batchJson(List<BatchPlayerResult> results) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new BatchPlayerResults(results).writeTo(out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	static PlayerRows rows(List<Player> players) {
+		List<PlayerRow> rows = new ArrayList<>(players.size());
+		for (Player player : players) {
+			rows.add(PlayerRow.of(player));
+		}
+		return new PlayerRows(rows);
+	}
+
+	static List<Player> league() {
+		List<Player> players = new ArrayList<>(PLAYERS);
+		for (int i = 0; i < PLAYERS; i++) {
+			Player player = new Player();
+			player.setPlayerId(1_000L + i);
+			player.setPlayerName("Player " + i);
+			player.setTeamId(1_610_612_700L + i % 30);
+			player.setTeamAbbreviation("T" + (i % 30));
+			player.setAge(19.0 + i % 20);
+			player.setGp(1.0 + i % 82);
+			player.setW(i % 50.0);
+			player.setL(i % 32.0);
+			player.setWPct((i % 100) / 100.0);
+			player.setMin(10.0 + (i % 250) / 10.0);
+			player.setFgm(i % 12 + 0.3);
+			player.setFga(i % 12 + 6.7);
+			player.setFgPct(0.4 + (i % 20) / 100.0);
+			player.setFg3m(i % 4 + 0.1);
+			player.setFg3a(i % 4 + 2.9);
+			player.setFg3Pct(0.3 + (i % 15) / 100.0);
+			player.setFtm(i % 7 + 0.5);
+			player.setFta(i % 7 + 1.5);
+			player.setFtPct(0.7 + (i % 25) / 100.0);
+			player.setOreb(i % 4 * 0.7);
+			player.setDreb(i % 9 * 0.9);
+			player.setReb(i % 4 * 0.7 + i % 9 * 0.9);
+			player.setAst(i % 10 * 0.8);
+			player.setTov(i % 5 * 0.6);
+			player.setStl(i % 3 * 0.4);
+			player.setBlk(i % 3 * 0.5);
+			player.setPf(i % 4 * 0.7);
+			player.setPts(5.0 + (i % 300) / 10.0);
+			player.setPlusMinus((i % 21) - 10.0);
+			player.setNbaFantasyPts(10.0 + (i % 400) / 10.0);
+			player.setHeadshot("https://cdn.nba.com/headshots/nba/latest/1040x760/" + (1_000 + i) + ".png");
+			players.add(player);
+		}
+		return players;
+	}
+}
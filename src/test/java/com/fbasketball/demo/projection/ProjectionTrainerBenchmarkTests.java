@@ -0,0 +1,78 @@
+package com.fbasketball.demo.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Training time and the cost of scoring a league, on the synthetic seasons of
+ * ProjectionTrainerTests. Not part of the regular build: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class ProjectionTrainerBenchmarkTests {
+
+	private static final int TRAINING_ITERATIONS = 20;
+	private static final int SCORING_ITERATIONS = 2_000;
+
+	@TempDir
+	Path history;
+
+	@Test
+	void training() throws IOException {
+		ProjectionTrainerTests.writeHistory(history, new Random(42));
+		List<SeasonHistory.Season> seasons = SeasonHistory.load(history);
+
+		ProjectionModel cold = ProjectionTrainer.train(seasons);
+		long warm = Long.MAX_VALUE;
+		for (int i = 0; i < TRAINING_ITERATIONS; i++) {
+			warm = Math.min(warm, ProjectionTrainer.train(seasons).trainingMillis());
+		}
+		System.out.printf(Locale.ROOT,
+				"training: %d examples, %d ms cold, %d ms warm, lambda %s, cv rmse %.2f, baseline rmse %.2f%n",
+				cold.examples(), cold.trainingMillis(), warm, cold.lambda(), cold.cvRmse(), cold.baselineRmse());
+
+		assertThat(cold.cvRmse()).isLessThan(cold.baselineRmse());
+	}
+
+	@Test
+	void scoring() throws IOException {
+		ProjectionTrainerTests.writeHistory(history, new Random(7));
+		ProjectionModel model = ProjectionTrainer.train(SeasonHistory.load(history));
+		double[][] league = SeasonHistory.load(history).get(ProjectionTrainerTests.SEASONS - 1).players().values()
+				.toArray(double[][]::new);
+
+		double sink = 0;
+		for (int i = 0; i < SCORING_ITERATIONS; i++) {
+			sink += scoreAll(model, league);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < SCORING_ITERATIONS; i++) {
+			sink += scoreAll(model, league);
+		}
+		long nanos = (System.nanoTime() - start) / SCORING_ITERATIONS;
+		System.out.printf(Locale.ROOT, "scoring: %d players in %d ns (%d ns per player)%n",
+				league.length, nanos, nanos / league.length);
+
+		assertThat(sink).isPositive();
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	private static double scoreAll(ProjectionModel model, double[][] league) {
+		double total = 0;
+		for (double[] stats : league) {
+			total += model.project(stats);
+		}
+		return total;
+	}
+}
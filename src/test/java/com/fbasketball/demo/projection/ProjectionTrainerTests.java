@@ -0,0 +1,122 @@
+package com.fbasketball.demo.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fbasketball.demo.expression.StatColumn;
+
+/**
+ * Trains on synthetic seasons written as CSV fixtures: each player has a talent
+ * level that drifts with age, and each season's fantasy average is talent plus
+ * noise. The model should beat "same as last season". Training time and the
+ * cost of scoring a league are in ProjectionTrainerBenchmarkTests.
+ */
+class ProjectionTrainerTests {
+
+	static final int PLAYERS = 450;
+	static final int SEASONS = 6;
+
+	@TempDir
+	Path history;
+
+	@Test
+	void beatsLastSeasonAsAProjection() throws IOException {
+		writeHistory(history, new Random(42));
+
+		List<SeasonHistory.Season> seasons = SeasonHistory.load(history);
+		assertThat(seasons).extracting(SeasonHistory.Season::name)
+				.containsExactly("2019-20", "2020-21", "2021-22", "2022-23", "2023-24", "2024-25");
+
+		ProjectionModel model = ProjectionTrainer.train(seasons);
+
+		assertThat(model.examples()).isGreaterThan(ProjectionTrainer.MIN_EXAMPLES);
+		assertThat(model.cvRmse()).isLessThan(model.baselineRmse());
+		// Same season, different ages: the young player is projected to improve
+		double[] young = seasons.get(SEASONS - 1).players().get(1_000L).clone();
+		double[] old = young.clone();
+		young[StatColumn.AGE.ordinal()] = 21;
+		old[StatColumn.AGE.ordinal()] = 33;
+		assertThat(model.project(young)).isGreaterThan(model.project(old));
+	}
+
+	@Test
+	void playerIdsSpreadEvenlyOverTheFolds() {
+		int[] sizes = new int[ProjectionTrainer.FOLDS];
+		for (long id = 1_000; id < 1_000 + PLAYERS; id++) {
+			sizes[ProjectionTrainer.fold(id)]++;
+		}
+		int even = PLAYERS / ProjectionTrainer.FOLDS;
+		for (int size : sizes) {
+			assertThat(size).isBetween(even * 3 / 4, even * 5 / 4);
+		}
+	}
+
+	@Test
+	void parsesScraperCsv() throws IOException {
+		String csv = """
+				player_id,player_name,team_abbreviation,gp,min,nba_fantasy_pts
+				2544,"James, LeBron",LAL,55,34.9,47.1
+				201939,Stephen Curry,GSW,,32.1,
+				""";
+		SeasonHistory.Season season = SeasonHistory.parse("2024-25", new BufferedReader(new StringReader(csv)));
+
+		assertThat(season.players()).hasSize(2);
+		double[] lebron = season.players().get(2544L);
+		assertThat(lebron[StatColumn.GP.ordinal()]).isEqualTo(55.0);
+		assertThat(lebron[StatColumn.NBA_FANTASY_PTS.ordinal()]).isEqualTo(47.1);
+		assertThat(lebron[StatColumn.PTS.ordinal()]).isNaN();
+		assertThat(season.players().get(201939L)[StatColumn.GP.ordinal()]).isNaN();
+	}
+
+	@Test
+	void refusesToTrainWithoutHistory() throws IOException {
+		assertThatThrownBy(() -> ProjectionTrainer.train(SeasonHistory.load(history.resolve("missing"))))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("Not enough history");
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	static void writeHistory(Path history, Random random) throws IOException {
+		double[] talent = new double[PLAYERS];
+		double[] age = new double[PLAYERS];
+		for (int p = 0; p < PLAYERS; p++) {
+			talent[p] = Math.max(5, 25 + 10 * random.nextGaussian());
+			age[p] = 19 + random.nextInt(16);
+		}
+
+		for (int s = 0; s < SEASONS; s++) {
+			StringBuilder csv = new StringBuilder("player_id,player_name,age,gp,min,fga,fta,tov,pts,reb,ast,stl,blk,"
+					+ "fg3m,fg_pct,ft_pct,nba_fantasy_pts\n");
+			for (int p = 0; p < PLAYERS; p++) {
+				double fantasy = Math.max(1, talent[p] + 3 * random.nextGaussian());
+				double min = Math.min(40, 8 + fantasy * 0.6);
+				csv.append(String.format(Locale.ROOT,
+						"%d,Player %d,%.0f,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.3f,%.3f,%.1f%n",
+						1_000 + p, p, age[p], 5 + random.nextInt(78), min,
+						fantasy * 0.35, fantasy * 0.1, fantasy * 0.05, fantasy * 0.5, fantasy * 0.2,
+						fantasy * 0.12, fantasy * 0.03, fantasy * 0.02, fantasy * 0.04,
+						0.42 + 0.05 * random.nextGaussian(), 0.75 + 0.08 * random.nextGaussian(), fantasy));
+
+				// Talent grows until 27 and declines after
+				talent[p] = Math.max(5, talent[p] + 0.6 * (27 - age[p]) + random.nextGaussian());
+				age[p]++;
+			}
+			Files.writeString(history.resolve((2019 + s) + "-" + (20 + s) + ".csv"), csv);
+		}
+	}
+}
@@ -0,0 +1,295 @@
+package com.fbasketball.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fbasketball.demo.model.Category;
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.model.TeamStanding;
+import com.fbasketball.demo.model.TradeEvaluation;
+import com.fbasketball.demo.model.TradeProposal;
+
+/**
+ * Runs against one H2 database. Players 1..POOL have random stats; 901..903 have
+ * hand-picked stats so their standings can be worked out by hand:
+ *
+ *            FG%   FT%  3PM  PTS  REB  AST  STL  BLK  TOV   points
+ *   901 (A)  .50   .80   2    26   10   3    1    2    3     17.5
+ *   902 (B)  .40   .90   4    29   4    9    2   0.5   4     19
+ *   903 (C)  .60   .50   0    14   12   1    1    3    1     17.5
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("single")
+class LeagueServiceTests {
+
+	private static final int POOL = 300;
+
+	@Autowired
+	private LeagueService leagueService;
+
+	@Autowired
+	private PlayerService playerService;
+
+	private final Random random = new Random(2024);
+
+	@BeforeEach
+	void setUp() {
+		List<Player> players = new ArrayList<>();
+		Random stats = new Random(42);
+		for (long id = 1; id <= POOL; id++) {
+			double fga = 5 + 15 * stats.nextDouble();
+			double fta = 1 + 7 * stats.nextDouble();
+			players.add(player(id, fga * (0.4 + 0.15 * stats.nextDouble()), fga, fta * (0.6 + 0.3 * stats.nextDouble()), fta,
+					3 * stats.nextDouble(), 5 + 25 * stats.nextDouble(), 1 + 11 * stats.nextDouble(),
+					1 + 9 * stats.nextDouble(), 2 * stats.nextDouble(), 2 * stats.nextDouble(), 4 * stats.nextDouble()));
+		}
+		players.add(player(901, 10, 20, 4, 5, 2, 26, 10, 3, 1, 2, 3));
+		players.add(player(902, 8, 20, 9, 10, 4, 29, 4, 9, 2, 0.5, 4));
+		players.add(player(903, 6, 10, 2, 4, 0, 14, 12, 1, 1, 3, 1));
+		playerService.ingestPlayers(players);
+	}
+
+	@Test
+	void standingsForAKnownLeague() {
+		Long league = leagueService.createLeague("Known").getLeagueId();
+		Long a = team(league, "A", 901L);
+		Long b = team(league, "B", 902L);
+		Long c = team(league, "C", 903L);
+
+		List<TeamStanding> standings = leagueService.getStandings(league);
+
+		assertThat(standings).extracting(TeamStanding::teamId).containsExactly(b, a, c);
+		Map<Long, TeamStanding> byTeam = standings.stream().collect(Collectors.toMap(TeamStanding::teamId, Function.identity()));
+		assertThat(byTeam.get(a).totalPoints()).isEqualTo(17.5);
+		assertThat(byTeam.get(b).totalPoints()).isEqualTo(19.0);
+		assertThat(byTeam.get(c).totalPoints()).isEqualTo(17.5);
+		// Tied on steals: one point for beating B, half a point for the tie
+		assertThat(byTeam.get(a).points().get(Category.STL)).isEqualTo(1.5);
+		assertThat(byTeam.get(c).points().get(Category.TOV)).isEqualTo(3.0);
+		assertThat(byTeam.get(a).totals().get(Category.FG_PCT)).isEqualTo(0.5);
+		assertThat(byTeam.get(a).totals().get(Category.PTS)).isEqualTo(26.0);
+		assertThat(byTeam.get(a).rosterSize()).isEqualTo(1);
+	}
+
+	@Test
+	void incrementalTotalsMatchAFullRebuild() {
+		Long league = leagueService.createLeague("Moves").getLeagueId();
+		List<Long> free = shuffledPool();
+		List<List<Long>> rosters = new ArrayList<>();
+		List<Long> teams = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			List<Long> roster = new ArrayList<>(free.subList(0, 10));
+			free.subList(0, 10).clear();
+			teams.add(team(league, "Team " + t, roster.toArray(Long[]::new)));
+			rosters.add(roster);
+		}
+		// Builds and caches the totals, the moves below update them in place
+		leagueService.getStandings(league);
+
+		for (int move = 0; move < 40; move++) {
+			int t = random.nextInt(teams.size());
+			List<Long> roster = rosters.get(t);
+			Long dropped = roster.remove(random.nextInt(roster.size()));
+			assertThat(leagueService.dropPlayer(league, teams.get(t), dropped)).isPresent();
+			Long added = free.remove(random.nextInt(free.size()));
+			assertThat(leagueService.addPlayer(league, teams.get(t), added)).isPresent();
+			roster.add(added);
+			free.add(dropped);
+		}
+		List<TeamStanding> incremental = leagueService.getStandings(league);
+
+		// A new snapshot version throws the cached totals away
+		playerService.reloadSnapshot();
+		List<TeamStanding> rebuilt = leagueService.getStandings(league);
+
+		assertThat(incremental).extracting(TeamStanding::teamId)
+				.containsExactlyElementsOf(rebuilt.stream().map(TeamStanding::teamId).toList());
+		for (int i = 0; i < rebuilt.size(); i++) {
+			assertThat(incremental.get(i).points()).isEqualTo(rebuilt.get(i).points());
+			assertThat(incremental.get(i).rosterSize()).isEqualTo(10);
+			for (Category category : Category.values()) {
+				assertThat(incremental.get(i).totals().get(category))
+						.isCloseTo(rebuilt.get(i).totals().get(category), within(1e-9));
+			}
+		}
+	}
+
+	@Test
+	void tradeDeltasSwapTheTradedPlayersStats() {
+		Long league = leagueService.createLeague("Trade").getLeagueId();
+		Long a = team(league, "A", 901L);
+		Long b = team(league, "B", 902L);
+		team(league, "C", 903L);
+
+		TradeEvaluation trade = leagueService.evaluateTrade(league, new TradeProposal(a, b, List.of(901L), List.of(902L)));
+
+		// A ends up with B's profile and the other way round
+		assertThat(trade.teamAPointsBefore()).isEqualTo(17.5);
+		assertThat(trade.teamAPointsAfter()).isEqualTo(19.0);
+		assertThat(trade.teamBPointsBefore()).isEqualTo(19.0);
+		assertThat(trade.teamBPointsAfter()).isEqualTo(17.5);
+		assertThat(trade.teamACategoryChange().get(Category.PTS)).isEqualTo(3.0);
+		assertThat(trade.teamBCategoryChange().get(Category.PTS)).isEqualTo(-3.0);
+		assertThat(trade.teamACategoryChange().get(Category.FG_PCT)).isCloseTo(-0.1, within(1e-9));
+		assertThat(trade.teamACategoryChange().get(Category.TOV)).isEqualTo(1.0);
+	}
+
+	@Test
+	void tradesListingAPlayerTwiceOrANullIdAreRejected() {
+		Long league = leagueService.createLeague("Bad trades").getLeagueId();
+		Long a = team(league, "A", 901L);
+		Long b = team(league, "B", 902L);
+
+		assertThatThrownBy(() -> leagueService.evaluateTrade(league,
+				new TradeProposal(a, b, List.of(901L, 901L), List.of(902L))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("listed twice");
+		assertThatThrownBy(() -> leagueService.evaluateTrade(league,
+				new TradeProposal(a, b, List.of(901L), Arrays.asList(902L, null))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("must not be null");
+	}
+
+	@Test
+	void suggestsTradesForAFullLeagueWithinASecond() {
+		Long league = leagueService.createLeague("Full").getLeagueId();
+		List<Long> free = shuffledPool();
+		List<Long> teams = new ArrayList<>();
+		for (int t = 0; t < 12; t++) {
+			teams.add(team(league, "Team " + t, free.subList(13 * t, 13 * t + 13).toArray(Long[]::new)));
+		}
+		leagueService.suggestTrades(league, teams.get(0), 10);
+
+		List<TradeEvaluation> suggestions = assertTimeoutPreemptively(Duration.ofSeconds(1),
+				() -> leagueService.suggestTrades(league, teams.get(5), 10).orElseThrow());
+
+		assertThat(suggestions).hasSizeLessThanOrEqualTo(10);
+		assertThat(suggestions).allSatisfy(trade -> {
+			assertThat(trade.teamAPointsAfter()).isGreaterThan(trade.teamAPointsBefore());
+			assertThat(trade.teamBPointsAfter()).isGreaterThanOrEqualTo(trade.teamBPointsBefore());
+		});
+	}
+
+	@Test
+	void concurrentAddsOfOnePlayerLetExactlyOneTeamHaveHim() throws Exception {
+		Long league = leagueService.createLeague("Race").getLeagueId();
+		List<Long> teams = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			teams.add(team(league, "Team " + t));
+		}
+
+		List<Boolean> added = race(teams.stream()
+				.map(teamId -> (Callable<Boolean>) () -> leagueService.addPlayer(league, teamId, 7L).isPresent())
+				.toList());
+
+		assertThat(added).containsOnly(true, false).filteredOn(Boolean::booleanValue).hasSize(1);
+		assertThat(leagueService.getTeams(league).stream().filter(team -> team.getPlayerIds().contains(7L))).hasSize(1);
+	}
+
+	@Test
+	void concurrentAddsNeverOverfillARoster() throws Exception {
+		Long league = leagueService.createLeague("Overfill").getLeagueId();
+		List<Long> free = shuffledPool();
+		Long teamId = team(league, "Deep bench",
+				free.subList(0, LeagueService.MAX_ROSTER_SIZE - 1).toArray(Long[]::new));
+
+		List<Boolean> added = race(free.subList(LeagueService.MAX_ROSTER_SIZE, LeagueService.MAX_ROSTER_SIZE + 6).stream()
+				.map(playerId -> (Callable<Boolean>) () -> leagueService.addPlayer(league, teamId, playerId).isPresent())
+				.toList());
+
+		assertThat(added).filteredOn(Boolean::booleanValue).hasSize(1);
+		assertThat(leagueService.getTeams(league).get(0).getPlayerIds()).hasSize(LeagueService.MAX_ROSTER_SIZE);
+		assertThat(leagueService.getStandings(league).get(0).rosterSize()).isEqualTo(LeagueService.MAX_ROSTER_SIZE);
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	private Long team(Long leagueId, String name, Long... playerIds) {
+		Long teamId = leagueService.createTeam(leagueId, name).getTeamId();
+		for (Long playerId : playerIds) {
+			leagueService.addPlayer(leagueId, teamId, playerId);
+		}
+		return teamId;
+	}
+
+	private List<Long> shuffledPool() {
+		List<Long> pool = new ArrayList<>();
+		for (long id = 1; id <= POOL; id++) {
+			pool.add(id);
+		}
+		Collections.shuffle(pool, random);
+		return pool;
+	}
+
+	// Starts the tasks together; a rejected add (IllegalArgument/IllegalState) counts as false
+	private static List<Boolean> race(List<Callable<Boolean>> tasks) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+		try {
+			CountDownLatch go = new CountDownLatch(1);
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (Callable<Boolean> task : tasks) {
+				futures.add(executor.submit(() -> {
+					go.await();
+					try {
+						return task.call();
+					} catch (IllegalArgumentException | IllegalStateException e) {
+						return false;
+					}
+				}));
+			}
+			go.countDown();
+			List<Boolean> results = new ArrayList<>();
+			for (Future<Boolean> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Player player(long id, double fgm, double fga, double ftm, double fta, double fg3m,
+								 double pts, double reb, double ast, double stl, double blk, double tov) {
+		Player player = new Player();
+		player.setPlayerId(id);
+		player.setPlayerName("Player " + id);
+		player.setTeamAbbreviation("NBA");
+		player.setFgm(fgm);
+		player.setFga(fga);
+		player.setFtm(ftm);
+		player.setFta(fta);
+		player.setFg3m(fg3m);
+		player.setPts(pts);
+		player.setReb(reb);
+		player.setAst(ast);
+		player.setStl(stl);
+		player.setBlk(blk);
+		player.setTov(tov);
+		return player;
+	}
+}
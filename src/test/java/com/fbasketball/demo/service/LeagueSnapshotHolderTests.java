@@ -0,0 +1,102 @@
+package com.fbasketball.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.repository.PlayerRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("single")
+class LeagueSnapshotHolderTests {
+
+	private static final long PLAYER_ID = 7001L;
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private LeagueSnapshotHolder snapshots;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void writesToOnePlayerArePublishedInCommitOrder() throws Exception {
+		playerService.ingestPlayers(List.of(player(10.0)));
+		// Loaded, so the writes below are published to it rather than read on first use
+		snapshots.reload();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		CountDownLatch firstCommitted = new CountDownLatch(1);
+		CountDownLatch releaseFirst = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// Commits first, then stalls before its publish
+			Future<?> first = executor.submit(() -> transaction.executeWithoutResult(status -> {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						firstCommitted.countDown();
+						await(releaseFirst);
+					}
+				});
+				playerService.updatePlayer(PLAYER_ID, player(20.0));
+			}));
+			await(firstCommitted);
+			Future<?> second = executor.submit(() -> playerService.updatePlayer(PLAYER_ID, player(30.0)));
+
+			// Time for the second writer to commit and publish, if nothing stops it
+			Thread.sleep(300);
+			releaseFirst.countDown();
+			first.get(10, TimeUnit.SECONDS);
+			second.get(10, TimeUnit.SECONDS);
+		} finally {
+			releaseFirst.countDown();
+			executor.shutdownNow();
+		}
+
+		assertThat(playerRepository.findById(PLAYER_ID)).get().extracting(Player::getPts).isEqualTo(30.0);
+		assertThat(snapshots.current().getOrNull(PLAYER_ID).getPts()).isEqualTo(30.0);
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Player player(double pts) {
+		Player player = new Player();
+		player.setPlayerId(PLAYER_ID);
+		player.setPlayerName("Ordered Player");
+		player.setTeamAbbreviation("SAS");
+		player.setPts(pts);
+		return player;
+	}
+}
@@ -0,0 +1,155 @@
+package com.fbasketball.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fbasketball.demo.model.Player;
+
+/**
+ * Readers hammer pinned snapshots while ingest threads publish whole new leagues
+ * and a reloader rebuilds from the "database". Every player in a generation has
+ * pts == generation, so a torn read shows up as two different values in one request.
+ */
+class LeagueSnapshotStressTests {
+
+	private static final int PLAYERS = 450;
+	private static final int TEAMS = 30;
+	private static final int READERS = 8;
+	private static final long RUN_MILLIS = 2_000;
+
+	private final AtomicInteger generation = new AtomicInteger();
+
+	@Test
+	void readersNeverSeeAHalfPublishedLeague() throws Exception {
+		LeagueSnapshotHolder holder = new LeagueSnapshotHolder(() -> league(generation.get()));
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		Queue<String> failures = new ConcurrentLinkedQueue<>();
+		AtomicLong requests = new AtomicLong();
+		AtomicLong publishes = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(READERS + 3);
+
+		ExecutorService executor = Executors.newFixedThreadPool(READERS + 3);
+		for (int i = 0; i < 2; i++) {
+			executor.execute(() -> {
+				try {
+					while (running.get()) {
+						holder.publishUpserted(league(generation.incrementAndGet()));
+						publishes.incrementAndGet();
+					}
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		executor.execute(() -> {
+			try {
+				while (running.get()) {
+					holder.reload();
+					publishes.incrementAndGet();
+				}
+			} finally {
+				done.countDown();
+			}
+		});
+		for (int i = 0; i < READERS; i++) {
+			executor.execute(() -> {
+				long lastVersion = 0;
+				try {
+					while (running.get()) {
+						RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+						try {
+							lastVersion = readOneRequest(holder, lastVersion, failures);
+							requests.incrementAndGet();
+						} finally {
+							RequestContextHolder.resetRequestAttributes();
+						}
+					}
+				} catch (RuntimeException e) {
+					failures.add(e.toString());
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+
+		Thread.sleep(RUN_MILLIS);
+		running.set(false);
+		assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+
+		assertThat(failures).isEmpty();
+		assertThat(requests.get()).isGreaterThan(READERS);
+		assertThat(publishes.get()).isGreaterThan(10);
+	}
+
+	/**
+	 * What a request does: several service-style reads, all through pinned()
+	 */
+	private static long readOneRequest(LeagueSnapshotHolder holder, long lastVersion, Queue<String> failures) {
+		LeagueSnapshot first = holder.pinned();
+		double expected = first.players().get(0).getPts();
+
+		List<Player> seen = new ArrayList<>(first.players());
+		for (int team = 0; team < TEAMS; team++) {
+			seen.addAll(holder.pinned().team(teamAbbreviation(team)));
+		}
+		seen.addAll(holder.pinned().topFantasy(50));
+		seen.addAll(holder.pinned().topScorers(50));
+		seen.addAll(holder.pinned().searchByName("player 1"));
+		seen.add(holder.pinned().get(1L).orElseThrow());
+
+		if (holder.pinned() != first) {
+			failures.add("request switched snapshots mid-way");
+		}
+		if (first.size() != PLAYERS) {
+			failures.add("snapshot v" + first.version() + " has " + first.size() + " players");
+		}
+		for (Player player : seen) {
+			if (player.getPts() != expected) {
+				failures.add("torn read in v" + first.version() + ": " + player.getPts() + " vs " + expected);
+				break;
+			}
+		}
+		if (first.version() < lastVersion) {
+			failures.add("version went backwards: " + lastVersion + " -> " + first.version());
+		}
+		return first.version();
+	}
+
+	private static List<Player> league(int generation) {
+		List<Player> players = new ArrayList<>(PLAYERS);
+		for (long id = 1; id <= PLAYERS; id++) {
+			Player player = new Player();
+			player.setPlayerId(id);
+			player.setPlayerName("Player " + id);
+			player.setTeamAbbreviation(teamAbbreviation((int) (id % TEAMS)));
+			player.setPts((double) generation);
+			player.setNbaFantasyPts((double) generation);
+			player.setFgPct(0.5);
+			players.add(player);
+		}
+		return players;
+	}
+
+	private static String teamAbbreviation(int team) {
+		return "T" + team;
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.fbasketball.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fbasketball.demo.controller.MetricController;
+import com.fbasketball.demo.expression.Expression;
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.model.PlayerMetric;
+
+class MetricServiceTests {
+
+	private final List<Player> league = new ArrayList<>();
+	private final LeagueSnapshotHolder snapshots = new LeagueSnapshotHolder(() -> List.copyOf(league));
+	private final MetricService metricService = new MetricService();
+
+	@BeforeEach
+	void setUp() {
+		league.add(player(1L, 30.0, 36.0));
+		league.add(player(2L, 12.0, 24.0));
+		league.add(player(3L, 21.0, 30.0));
+		// Undefined per-minute metrics: no minutes, no points
+		league.add(player(4L, 5.0, 0.0));
+		league.add(player(5L, null, 20.0));
+		ReflectionTestUtils.setField(metricService, "snapshots", snapshots);
+	}
+
+	@Test
+	void leaderboardIsHighestFirstAndLeavesUndefinedValuesOut() {
+		assertThat(metricService.leaderboard("per36_pts", 10, false))
+				.extracting(PlayerMetric::playerId)
+				.containsExactly(1L, 3L, 2L);
+		assertThat(metricService.leaderboard("per36_pts", 10, true))
+				.extracting(PlayerMetric::playerId)
+				.containsExactly(2L, 3L, 1L);
+		assertThat(metricService.leaderboard("pts", 2, false))
+				.extracting(PlayerMetric::value)
+				.containsExactly(30.0, 21.0);
+		assertThat(metricService.filter("pts / min * 36", 18.0, 26.0))
+				.extracting(PlayerMetric::playerId)
+				.containsExactly(3L, 2L);
+	}
+
+	@Test
+	void valuesAreMemoizedPerSnapshotVersion() {
+		Expression pts = metricService.compile("pts");
+		LeagueSnapshot first = snapshots.current();
+
+		MetricService.MetricValues values = metricService.values(pts, first);
+		assertThat(metricService.values(metricService.compile("pts"), first)).isSameAs(values);
+
+		snapshots.publishUpserted(List.of(player(2L, 40.0, 24.0)));
+		LeagueSnapshot second = snapshots.current();
+		MetricService.MetricValues recomputed = metricService.values(pts, second);
+
+		assertThat(recomputed).isNotSameAs(values);
+		assertThat(recomputed.version()).isEqualTo(second.version());
+		assertThat(metricService.leaderboard("pts", 1, false).get(0).value()).isEqualTo(40.0);
+	}
+
+	@Test
+	void cachesAreClearedOnceTheyHold256Entries() {
+		LeagueSnapshot snapshot = snapshots.current();
+		Expression first = metricService.compile("pts + 0");
+		MetricService.MetricValues firstValues = metricService.values(first, snapshot);
+		for (int i = 1; i < 256; i++) {
+			metricService.values(metricService.compile("pts + " + i), snapshot);
+		}
+
+		// 256 entries: still cached
+		assertThat(metricService.compile("pts + 0")).isSameAs(first);
+		assertThat(metricService.values(first, snapshot)).isSameAs(firstValues);
+
+		metricService.values(metricService.compile("pts + 256"), snapshot);
+
+		assertThat(metricService.compile("pts + 0")).isNotSameAs(first);
+		assertThat(metricService.values(first, snapshot)).isNotSameAs(firstValues);
+	}
+
+	@Test
+	void leaderboardOrderMustBeAscOrDesc() {
+		MetricController controller = new MetricController(metricService);
+
+		assertThat(controller.getLeaderboard("pts", 10, "ASC").getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(controller.getLeaderboard("pts", 10, "up").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void entriesSerializeAsThePlayersIdentityAndTheValue() throws Exception {
+		String json = new ObjectMapper().writeValueAsString(metricService.leaderboard("pts", 1, false));
+
+		assertThat(json).isEqualTo("[{\"playerId\":1,\"playerName\":\"Player 1\",\"teamAbbreviation\":\"NBA\",\"value\":30.0}]");
+	}
+
+	private static Player player(Long playerId, Double pts, Double min) {
+		Player player = new Player();
+		player.setPlayerId(playerId);
+		player.setPlayerName("Player " + playerId);
+		player.setTeamAbbreviation("NBA");
+		player.setPts(pts);
+		player.setMin(min);
+		return player;
+	}
+}
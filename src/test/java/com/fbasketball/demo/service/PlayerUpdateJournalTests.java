@@ -0,0 +1,116 @@
+package com.fbasketball.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fbasketball.demo.model.Player;
+
+class PlayerUpdateJournalTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void unflushedUpdatesAreReplayedInOrder() throws Exception {
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			journal.append(update(2544L, 25.0));
+			journal.append(update(201939L, 27.0));
+			journal.append(update(2544L, 26.0));
+		}
+
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			List<Player> replayed = journal.replay();
+
+			assertThat(replayed).extracting(Player::getPlayerId).containsExactly(2544L, 201939L, 2544L);
+			assertThat(replayed).extracting(Player::getPts).containsExactly(25.0, 27.0, 26.0);
+		}
+	}
+
+	@Test
+	void releasedSegmentsAreNotReplayed() throws Exception {
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			journal.append(update(2544L, 25.0));
+			List<Path> sealed = journal.seal();
+			journal.append(update(201939L, 27.0));
+			journal.release(sealed);
+		}
+
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			assertThat(journal.replay()).extracting(Player::getPlayerId).containsExactly(201939L);
+		}
+	}
+
+	@Test
+	void restoredSegmentsAreReplayedBeforeNewerOnes() throws Exception {
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			journal.append(update(2544L, 25.0));
+			List<Path> sealed = journal.seal();
+			journal.append(update(2544L, 26.0));
+			journal.restore(sealed);
+		}
+
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			assertThat(journal.replay()).extracting(Player::getPts).containsExactly(25.0, 26.0);
+		}
+	}
+
+	@Test
+	void failedSealKeepsAppendingToTheActiveSegment() throws Exception {
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			journal.append(update(2544L, 25.0));
+			// Takes the next segment's name, so the seal can't create it
+			Files.createFile(directory.resolve("updates-1.log"));
+
+			assertThatThrownBy(journal::seal).isInstanceOf(FileAlreadyExistsException.class);
+
+			journal.append(update(2544L, 26.0));
+			assertThat(journal.seal()).containsExactly(directory.resolve("updates-0.log"));
+			journal.append(update(2544L, 27.0));
+		}
+
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			assertThat(journal.replay()).extracting(Player::getPts).containsExactly(25.0, 26.0, 27.0);
+		}
+	}
+
+	@Test
+	void compactionReplacesEverySegmentWithThePendingState() throws Exception {
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			journal.append(update(2544L, 25.0));
+			journal.append(update(2544L, 26.0));
+			List<Path> sealed = journal.seal();
+			journal.append(update(201939L, 27.0));
+
+			journal.compact(List.of(update(2544L, 26.0), update(201939L, 27.0)), sealed);
+			journal.append(update(2544L, 28.0));
+
+			try (Stream<Path> files = Files.list(directory)) {
+				assertThat(files).hasSize(2);
+			}
+		}
+
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(directory, objectMapper, false)) {
+			assertThat(journal.replay()).extracting(Player::getPts).containsExactly(26.0, 27.0, 28.0);
+		}
+	}
+
+	private static Player update(Long playerId, Double pts) {
+		Player player = new Player();
+		player.setPlayerId(playerId);
+		player.setPts(pts);
+		return player;
+	}
+
+}
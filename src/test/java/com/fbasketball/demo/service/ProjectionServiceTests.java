@@ -0,0 +1,64 @@
+package com.fbasketball.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProjectionServiceTests {
+
+	private static final int PLAYERS = 100;
+
+	@TempDir
+	Path history;
+
+	@Test
+	void firstUseWithoutHistoryRetriesOnTheNextRead() throws IOException {
+		ProjectionService projectionService = new ProjectionService(new LeagueSnapshotHolder(List::of),
+				history.toString(), 0);
+
+		assertThat(projectionService.model()).isEmpty();
+
+		writeSeason("2023-24", new Random(1));
+		writeSeason("2024-25", new Random(2));
+
+		assertThat(projectionService.model()).hasValueSatisfying(model ->
+				assertThat(model.seasons()).containsExactly("2023-24", "2024-25"));
+	}
+
+	@Test
+	void readsWithinTheRetryIntervalDoNotTrainButRetrainDoes() throws IOException {
+		ProjectionService projectionService = new ProjectionService(new LeagueSnapshotHolder(List::of),
+				history.toString(), 3_600_000);
+
+		assertThat(projectionService.model()).isEmpty();
+
+		writeSeason("2023-24", new Random(1));
+		writeSeason("2024-25", new Random(2));
+
+		assertThat(projectionService.model()).isEmpty();
+		projectionService.retrain();
+		assertThat(projectionService.model()).isPresent();
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	private void writeSeason(String name, Random random) throws IOException {
+		StringBuilder csv = new StringBuilder("player_id,player_name,age,gp,min,pts,nba_fantasy_pts\n");
+		for (int p = 0; p < PLAYERS; p++) {
+			double fantasy = 10 + p * 0.3 + random.nextGaussian();
+			csv.append(String.format(Locale.ROOT, "%d,Player %d,%d,%d,%.1f,%.1f,%.1f%n",
+					1_000 + p, p, 20 + p % 15, 20 + random.nextInt(60), 10 + fantasy * 0.5, fantasy * 0.5, fantasy));
+		}
+		Files.writeString(history.resolve(name + ".csv"), csv);
+	}
+}
@@ -0,0 +1,401 @@
+package com.fbasketball.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fbasketball.demo.controller.PlayerController;
+import com.fbasketball.demo.model.Player;
+import com.fbasketball.demo.repository.PlayerRepository;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * Runs the queue against an in-memory "database" (a mocked repository backed by
+ * a map) with a no-op transaction manager, and a real journal in a temp directory.
+ */
+class WriteBehindUpdateQueueTests {
+
+	private static final long LONG_WINDOW_MS = 60_000;
+	private static final long WAIT_MILLIS = 5_000;
+	private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Map<Long, Player> database = new ConcurrentHashMap<>();
+	private final PlayerRepository playerRepository = mock(PlayerRepository.class);
+	private final LeagueSnapshotHolder snapshots = new LeagueSnapshotHolder(() -> List.copyOf(database.values()));
+	private final List<WriteBehindUpdateQueue> started = new ArrayList<>();
+	private long drainTimeoutMs = WAIT_MILLIS;
+
+	@TempDir
+	Path journalDir;
+
+	@BeforeEach
+	void setUp() {
+		when(playerRepository.findAllById(any())).thenAnswer(invocation -> {
+			List<Player> found = new ArrayList<>();
+			for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+				Player stored = database.get(id);
+				if (stored != null) {
+					found.add(copy(stored));
+				}
+			}
+			return found;
+		});
+		when(playerRepository.saveAll(any())).thenAnswer(invocation -> {
+			List<Player> saved = new ArrayList<>();
+			for (Player player : invocation.<Iterable<Player>>getArgument(0)) {
+				database.put(player.getPlayerId(), copy(player));
+				saved.add(player);
+			}
+			return saved;
+		});
+		for (long id = 1; id <= 10; id++) {
+			database.put(id, player(id));
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		for (WriteBehindUpdateQueue queue : started) {
+			queue.stop();
+		}
+	}
+
+	@Test
+	void coalescingKeepsFieldsTheNewerUpdateDoesNotSet() {
+		Player pending = update(2544L);
+		pending.setPts(25.0);
+		pending.setAst(8.0);
+		Player newer = update(2544L);
+		newer.setPts(26.0);
+
+		WriteBehindUpdateQueue.mergeNonNullFields(pending, newer);
+
+		assertThat(pending.getPts()).isEqualTo(26.0);
+		assertThat(pending.getAst()).isEqualTo(8.0);
+	}
+
+	@Test
+	void concurrentSubmitsCoalesceToOnePendingUpdatePerPlayer() throws Exception {
+		WriteBehindUpdateQueue queue = start(100, 100, LONG_WINDOW_MS, 200);
+		int threads = 4;
+		int updatesPerThread = 1_000;
+
+		// Each thread owns one field and writes increasing values, so the last one must win
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch go = new CountDownLatch(1);
+		AtomicInteger rejected = new AtomicInteger();
+		for (int t = 0; t < threads; t++) {
+			int field = t;
+			executor.execute(() -> {
+				try {
+					go.await();
+					for (int i = 0; i < updatesPerThread; i++) {
+						long id = 1 + i % 10;
+						if (!queue.submit(id, update(id, field, i))) {
+							rejected.incrementAndGet();
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		go.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(WAIT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+
+		assertThat(rejected).hasValue(0);
+		assertThat(queue.pendingCount()).isEqualTo(10);
+
+		stopped(queue);
+		for (long id = 1; id <= 10; id++) {
+			// Last i with i % 10 == id - 1
+			double last = updatesPerThread - 11 + id;
+			Player stored = database.get(id);
+			assertThat(List.of(stored.getPts(), stored.getAst(), stored.getReb(), stored.getStl()))
+					.as("player %d", id)
+					.containsOnly(last);
+		}
+	}
+
+	@Test
+	void fullQueueRejectsNewPlayersWith503() throws Exception {
+		WriteBehindUpdateQueue queue = start(2, 100, LONG_WINDOW_MS, 50);
+
+		assertThat(queue.submit(1L, update(1L, 0, 1))).isTrue();
+		assertThat(queue.submit(2L, update(2L, 0, 1))).isTrue();
+		assertThat(queue.submit(3L, update(3L, 0, 1))).isFalse();
+		// Already pending, coalesces without needing room
+		assertThat(queue.submit(1L, update(1L, 0, 2))).isTrue();
+
+		PlayerService playerService = mock(PlayerService.class);
+		when(playerService.playerExists(any())).thenReturn(true);
+		PlayerController controller = new PlayerController(playerService,
+				new StaticListableBeanFactory(Map.of("queue", queue)).getBeanProvider(WriteBehindUpdateQueue.class));
+
+		ResponseEntity<?> response = controller.updatePlayer(3L, update(3L, 0, 1));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(controller.updatePlayer(2L, update(2L, 0, 2)).getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+	}
+
+	@Test
+	void invalidUpdateIsRejectedBeforeItIsJournaled() throws Exception {
+		WriteBehindUpdateQueue queue = start(100, 100, LONG_WINDOW_MS, 200);
+		Player invalid = update(1L, 0, 30);
+		invalid.setTeamAbbreviation("LAKERS");
+
+		assertThatThrownBy(() -> queue.submit(1L, invalid))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid update for player 1: teamAbbreviation: Team abbreviation must be between 2 and 5 characters");
+
+		PlayerService playerService = mock(PlayerService.class);
+		when(playerService.playerExists(any())).thenReturn(true);
+		PlayerController controller = new PlayerController(playerService,
+				new StaticListableBeanFactory(Map.of("queue", queue)).getBeanProvider(WriteBehindUpdateQueue.class));
+		assertThat(controller.updatePlayer(1L, invalid).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+		assertThat(queue.pendingCount()).isZero();
+		stopped(queue);
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(journalDir, objectMapper, false)) {
+			assertThat(journal.replay()).isEmpty();
+		}
+	}
+
+	@Test
+	void rejectedUpdateIsDeadLetteredAndTheRestIsPersisted() throws Exception {
+		doAnswer(invocation -> {
+			List<Player> players = new ArrayList<>();
+			invocation.<Iterable<Player>>getArgument(0).forEach(players::add);
+			if (players.stream().anyMatch(player -> player.getPlayerId() == 3L)) {
+				throw new DataIntegrityViolationException("value too long for column");
+			}
+			for (Player player : players) {
+				database.put(player.getPlayerId(), copy(player));
+			}
+			return players;
+		}).when(playerRepository).saveAll(any());
+		WriteBehindUpdateQueue queue = start(100, 2, LONG_WINDOW_MS, 200);
+
+		for (long id = 1; id <= 5; id++) {
+			queue.submit(id, update(id, 0, 30 + id));
+		}
+		stopped(queue);
+
+		assertThat(database.get(3L).getPts()).isNull();
+		for (long id : new long[] {1, 2, 4, 5}) {
+			assertThat(database.get(id).getPts()).isEqualTo(30.0 + id);
+		}
+		assertThat(Files.readString(journalDir.resolve("dead-letter.log"))).contains("\"playerId\":3,");
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(journalDir, objectMapper, false)) {
+			assertThat(journal.replay()).isEmpty();
+		}
+	}
+
+	@Test
+	void failingFlushesBackOffAndKeepOneCompactedSegment() throws Exception {
+		AtomicInteger attempts = new AtomicInteger();
+		doAnswer(invocation -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("connection refused");
+		}).when(playerRepository).saveAll(any());
+		drainTimeoutMs = 300;
+		WriteBehindUpdateQueue queue = start(100, 1, 10, 200);
+
+		queue.submit(1L, update(1L, 0, 41));
+		queue.submit(2L, update(2L, 0, 42));
+		Thread.sleep(1_700);
+		queue.submit(1L, update(1L, 1, 9));
+
+		// Chunk and lone retry at ~0, 0.5 and 1.5 s: without the backoff this would be thousands
+		assertThat(attempts.get()).isBetween(2, 8);
+		assertThat(segments()).hasSizeLessThanOrEqualTo(2);
+		assertThat(queue.pendingCount()).isEqualTo(2);
+	}
+
+	@Test
+	void shutdownGivesUpAtTheDrainTimeoutAndKeepsTheJournal() throws Exception {
+		doAnswer(invocation -> {
+			throw new IllegalStateException("connection refused");
+		}).when(playerRepository).saveAll(any());
+		drainTimeoutMs = 300;
+		WriteBehindUpdateQueue queue = start(100, 100, LONG_WINDOW_MS, 200);
+		queue.submit(1L, update(1L, 0, 51));
+		queue.submit(2L, update(2L, 0, 52));
+		queue.submit(1L, update(1L, 1, 6));
+
+		long start = System.nanoTime();
+		stopped(queue);
+
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(WAIT_MILLIS);
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(journalDir, objectMapper, false)) {
+			Map<Long, Player> replayed = new HashMap<>();
+			for (Player update : journal.replay()) {
+				replayed.merge(update.getPlayerId(), update, (older, newer) -> {
+					WriteBehindUpdateQueue.mergeNonNullFields(older, newer);
+					return older;
+				});
+			}
+			assertThat(replayed).containsOnlyKeys(1L, 2L);
+			assertThat(replayed.get(1L).getPts()).isEqualTo(51.0);
+			assertThat(replayed.get(1L).getAst()).isEqualTo(6.0);
+			assertThat(replayed.get(2L).getPts()).isEqualTo(52.0);
+		}
+	}
+
+	@Test
+	void failedChunkIsRequeuedAndRetried() throws Exception {
+		// The chunk and then the lone retry fail, so the player is requeued
+		AtomicInteger failures = new AtomicInteger(2);
+		doAnswer(invocation -> {
+			List<Player> players = new ArrayList<>();
+			invocation.<Iterable<Player>>getArgument(0).forEach(players::add);
+			// The second chunk fails once
+			if (players.stream().anyMatch(player -> player.getPlayerId() == 3L) && failures.getAndDecrement() > 0) {
+				throw new IllegalStateException("connection reset");
+			}
+			for (Player player : players) {
+				database.put(player.getPlayerId(), copy(player));
+			}
+			return players;
+		}).when(playerRepository).saveAll(any());
+		WriteBehindUpdateQueue queue = start(100, 2, 10, 200);
+
+		queue.submit(1L, update(1L, 0, 11));
+		queue.submit(2L, update(2L, 0, 12));
+		queue.submit(3L, update(3L, 0, 13));
+
+		// After the retry backoff
+		awaitUntil(() -> Double.valueOf(13.0).equals(database.get(3L).getPts()));
+		assertThat(failures.get()).isNegative();
+		assertThat(database.get(1L).getPts()).isEqualTo(11.0);
+		assertThat(database.get(2L).getPts()).isEqualTo(12.0);
+		// The segments of the failed flush are released by the retry
+		awaitUntil(() -> segments().size() == 1);
+		assertThat(queue.pendingCount()).isZero();
+	}
+
+	@Test
+	void journaledUpdatesAreReplayedOnStartup() throws Exception {
+		// Left behind by a run that stopped before flushing
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(journalDir, objectMapper, false)) {
+			journal.append(update(1L, 0, 21));
+			journal.append(update(2L, 0, 22));
+			journal.append(update(1L, 1, 7));
+		}
+
+		WriteBehindUpdateQueue queue = start(100, 100, LONG_WINDOW_MS, 200);
+		assertThat(queue.pendingCount()).isEqualTo(2);
+
+		stopped(queue);
+		assertThat(database.get(1L).getPts()).isEqualTo(21.0);
+		assertThat(database.get(1L).getAst()).isEqualTo(7.0);
+		assertThat(database.get(2L).getPts()).isEqualTo(22.0);
+		try (PlayerUpdateJournal journal = new PlayerUpdateJournal(journalDir, objectMapper, false)) {
+			assertThat(journal.replay()).isEmpty();
+		}
+	}
+
+	// ========================================================================
+	// HELPERS
+	// ========================================================================
+
+	private WriteBehindUpdateQueue start(int capacity, int batchSize, long flushIntervalMs, long offerTimeoutMs)
+			throws Exception {
+		WriteBehindUpdateQueue queue = new WriteBehindUpdateQueue(playerRepository, snapshots,
+				mock(PlatformTransactionManager.class), objectMapper, VALIDATOR, capacity, batchSize, flushIntervalMs,
+				offerTimeoutMs, drainTimeoutMs, journalDir.toString(), false);
+		queue.start();
+		started.add(queue);
+		return queue;
+	}
+
+	// Stops (and so drains) the queue now rather than after the test
+	private void stopped(WriteBehindUpdateQueue queue) throws Exception {
+		started.remove(queue);
+		queue.stop();
+	}
+
+	private List<Path> segments() {
+		try (Stream<Path> files = Files.list(journalDir)) {
+			return files.toList();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	private static Player update(long playerId) {
+		Player player = new Player();
+		player.setPlayerId(playerId);
+		return player;
+	}
+
+	// Sets pts, ast, reb or stl (field 0..3) to value
+	private static Player update(long playerId, int field, double value) {
+		Player player = update(playerId);
+		switch (field) {
+			case 0 -> player.setPts(value);
+			case 1 -> player.setAst(value);
+			case 2 -> player.setReb(value);
+			default -> player.setStl(value);
+		}
+		return player;
+	}
+
+	private static Player player(long id) {
+		Player player = update(id);
+		player.setPlayerName("Player " + id);
+		player.setTeamAbbreviation("LAL");
+		return player;
+	}
+
+	private static Player copy(Player player) {
+		Player copy = player(player.getPlayerId());
+		WriteBehindUpdateQueue.mergeNonNullFields(copy, player);
+		return copy;
+	}
+}
@@ -0,0 +1,51 @@
+-- Schema of the H2 "replica" in the routing profile. Hibernate only creates the
+-- schema on the primary; a real replica gets it through replication.
+CREATE TABLE IF NOT EXISTS players (
+    player_id BIGINT PRIMARY KEY,
+    player_name VARCHAR(100) NOT NULL,
+    team_id BIGINT,
+    team_abbreviation VARCHAR(5) NOT NULL,
+    age DOUBLE PRECISION,
+    gp DOUBLE PRECISION,
+    w DOUBLE PRECISION,
+    l DOUBLE PRECISION,
+    w_pct DOUBLE PRECISION,
+    min DOUBLE PRECISION,
+    fgm DOUBLE PRECISION,
+    fga DOUBLE PRECISION,
+    fg_pct DOUBLE PRECISION,
+    fg3m DOUBLE PRECISION,
+    fg3a DOUBLE PRECISION,
+    fg3_pct DOUBLE PRECISION,
+    ftm DOUBLE PRECISION,
+    fta DOUBLE PRECISION,
+    ft_pct DOUBLE PRECISION,
+    oreb DOUBLE PRECISION,
+    dreb DOUBLE PRECISION,
+    reb DOUBLE PRECISION,
+    ast DOUBLE PRECISION,
+    tov DOUBLE PRECISION,
+    stl DOUBLE PRECISION,
+    blk DOUBLE PRECISION,
+    pf DOUBLE PRECISION,
+    pts DOUBLE PRECISION,
+    plus_minus DOUBLE PRECISION,
+    nba_fantasy_pts DOUBLE PRECISION,
+    headshot VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS leagues (
+    league_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS fantasy_teams (
+    team_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    league_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS fantasy_team_players (
+    team_id BIGINT NOT NULL,
+    player_id BIGINT
+);